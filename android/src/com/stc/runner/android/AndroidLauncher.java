@@ -30,17 +30,40 @@ import com.google.android.gms.ads.AdSize;
 import com.google.android.gms.ads.AdView;
 import com.google.android.gms.analytics.GoogleAnalytics;
 import com.google.android.gms.games.Games;
+import com.google.android.gms.games.leaderboard.Leaderboards;
 import com.google.games.basegameutils.GameHelper;
 import com.stc.runner.MartianRun;
 import com.stc.runner.utils.Constants;
 import com.stc.runner.utils.GameEventListener;
 import com.stc.runner.utils.GameManager;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 public class AndroidLauncher extends AndroidApplication implements GameHelper.GameHelperListener,
         GameEventListener {
 
     private static String SAVED_LEADERBOARD_REQUESTED = "SAVED_LEADERBOARD_REQUESTED";
     private static String SAVED_ACHIEVEMENTS_REQUESTED = "SAVED_ACHIEVEMENTS_REQUESTED";
+    private static final long SUBMIT_SCORE_TIMEOUT_SECONDS = 30;
+
+    // Keys used in achievements.json mapped to the IDs configured in Play Games
+    private static final Map<String, Integer> ACHIEVEMENT_IDS = new HashMap<String, Integer>();
+
+    static {
+        ACHIEVEMENT_IDS.put("getting_started", R.string.achievement_getting_started);
+        ACHIEVEMENT_IDS.put("like_a_rover", R.string.achievement_like_a_rover);
+        ACHIEVEMENT_IDS.put("spirit", R.string.achievement_spirit);
+        ACHIEVEMENT_IDS.put("curiosity", R.string.achievement_curiosity);
+        ACHIEVEMENT_IDS.put("5k_club", R.string.achievement_5k_club);
+        ACHIEVEMENT_IDS.put("10k_club", R.string.achievement_10k_club);
+        ACHIEVEMENT_IDS.put("25k_club", R.string.achievement_25k_club);
+        ACHIEVEMENT_IDS.put("50k_club", R.string.achievement_50k_club);
+        ACHIEVEMENT_IDS.put("10_jump_street", R.string.achievement_10_jump_street);
+        ACHIEVEMENT_IDS.put("100_jump_street", R.string.achievement_100_jump_street);
+        ACHIEVEMENT_IDS.put("500_jump_street", R.string.achievement_500_jump_street);
+    }
 
     private GameHelper gameHelper;
 
@@ -149,9 +172,8 @@ public class AndroidLauncher extends AndroidApplication implements GameHelper.Ga
     @Override
     public void onSignInSucceeded() {
         // handle sign-in success
-        if (GameManager.getInstance().hasSavedMaxScore()) {
-            GameManager.getInstance().submitSavedMaxScore();
-        }
+        GameManager.getInstance().submitPendingScores();
+        GameManager.getInstance().submitPendingAchievements();
 
         if (mLeaderboardRequested) {
             displayLeaderboard();
@@ -175,13 +197,16 @@ public class AndroidLauncher extends AndroidApplication implements GameHelper.Ga
     }
 
     @Override
-    public void submitScore(int score) {
-        if (gameHelper.isSignedIn()) {
-            Games.Leaderboards.submitScore(gameHelper.getApiClient(),
-                    getString(R.string.leaderboard_high_scores), score);
-        } else {
-            GameManager.getInstance().saveScore(score);
+    public boolean submitScore(long runId, int score) {
+        if (!gameHelper.isSignedIn()) {
+            return false;
         }
+
+        // Called from the background executor, so it can wait for Play Games to confirm the score
+        Leaderboards.SubmitScoreResult result = Games.Leaderboards.submitScoreImmediate(
+                gameHelper.getApiClient(), getString(R.string.leaderboard_high_scores), score,
+                Long.toHexString(runId)).await(SUBMIT_SCORE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        return result.getStatus().isSuccess();
     }
 
     @Override
@@ -218,74 +243,31 @@ public class AndroidLauncher extends AndroidApplication implements GameHelper.Ga
     }
 
     @Override
-    public void unlockAchievement(String id) {
-        if (gameHelper.isSignedIn()) {
-            Games.Achievements.unlock(gameHelper.getApiClient(), id);
-            GameManager.getInstance().setAchievementUnlocked(id);
+    public boolean unlockAchievement(String id) {
+        if (!gameHelper.isSignedIn()) {
+            return false;
         }
-    }
-
-    @Override
-    public void incrementAchievement(String id, int steps) {
-        if (gameHelper.isSignedIn()) {
-            Games.Achievements.increment(gameHelper.getApiClient(), id, steps);
-            GameManager.getInstance().incrementAchievementCount(id, steps);
-        }
-    }
-
-    @Override
-    public String getGettingStartedAchievementId() {
-        return getString(R.string.achievement_getting_started);
-    }
-
-    @Override
-    public String getLikeARoverAchievementId() {
-        return getString(R.string.achievement_like_a_rover);
-    }
 
-    @Override
-    public String getSpiritAchievementId() {
-        return getString(R.string.achievement_spirit);
-    }
-
-    @Override
-    public String getCuriosityAchievementId() {
-        return getString(R.string.achievement_curiosity);
-    }
-
-    @Override
-    public String get5kClubAchievementId() {
-        return getString(R.string.achievement_5k_club);
-    }
-
-    @Override
-    public String get10kClubAchievementId() {
-        return getString(R.string.achievement_10k_club);
+        Games.Achievements.unlock(gameHelper.getApiClient(), id);
+        GameManager.getInstance().setAchievementUnlocked(id);
+        return true;
     }
 
     @Override
-    public String get25kClubAchievementId() {
-        return getString(R.string.achievement_25k_club);
-    }
-
-    @Override
-    public String get50kClubAchievementId() {
-        return getString(R.string.achievement_50k_club);
-    }
-
-    @Override
-    public String get10JumpStreetAchievementId() {
-        return getString(R.string.achievement_10_jump_street);
-    }
+    public boolean incrementAchievement(String id, int steps) {
+        if (!gameHelper.isSignedIn()) {
+            return false;
+        }
 
-    @Override
-    public String get100JumpStreetAchievementId() {
-        return getString(R.string.achievement_100_jump_street);
+        Games.Achievements.increment(gameHelper.getApiClient(), id, steps);
+        GameManager.getInstance().incrementAchievementCount(id, steps);
+        return true;
     }
 
     @Override
-    public String get500JumpStreetAchievementId() {
-        return getString(R.string.achievement_500_jump_street);
+    public String getAchievementId(String key) {
+        Integer id = ACHIEVEMENT_IDS.get(key);
+        return id == null ? null : getString(id);
     }
 
     private String getAdMobUnitId() {
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.benchmarks;
+
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.stc.runner.box2d.BodyRegistry;
+import com.stc.runner.enums.EnemyType;
+import com.stc.runner.utils.EnemyPool;
+import com.stc.runner.utils.WorldUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spawning and removing an enemy, by creating and destroying its body or through the
+ * {@link EnemyPool}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class EnemyChurnBenchmark {
+
+    private World world;
+    private BodyRegistry registry;
+    private EnemyPool enemyPool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GdxNativesLoader.load();
+        world = WorldUtils.createWorld();
+        registry = new BodyRegistry();
+        enemyPool = new EnemyPool(world, registry);
+        WorldUtils.createGround(world, registry);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        world.dispose();
+    }
+
+    @Benchmark
+    public void createAndDestroy() {
+        Body body = WorldUtils.createEnemy(world, registry, EnemyType.RUNNING_SMALL);
+        WorldUtils.destroyBody(world, registry, body);
+    }
+
+    @Benchmark
+    public void obtainAndFree() {
+        enemyPool.free(enemyPool.obtain(EnemyType.RUNNING_SMALL));
+    }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.benchmarks;
+
+import com.stc.runner.enums.EnemyType;
+import com.stc.runner.utils.GameRandom;
+import com.stc.runner.utils.RandomUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class RandomEnemyTypeBenchmark {
+
+    private final GameRandom random = new GameRandom(BenchmarkUtils.SEED);
+
+    @Benchmark
+    public EnemyType getRandomEnemyType() {
+        return RandomUtils.getRandomEnemyType(random);
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.benchmarks;
+
+import com.badlogic.gdx.utils.StringBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning the score into the text {@link com.stc.runner.actors.Score} draws. Run with
+ * -Pprofiler=gc to see the bytes allocated per operation, which should be 0 for the
+ * StringBuilder version Score uses
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ScoreFormatBenchmark {
+
+    private final StringBuilder text = new StringBuilder(10);
+    private int score;
+
+    @Benchmark
+    public String stringFormat() {
+        return String.format("%d", ++score);
+    }
+
+    @Benchmark
+    public StringBuilder stringBuilder() {
+        text.setLength(0);
+        text.append(++score);
+        return text;
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.benchmarks;
+
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.stc.runner.simulation.GameSimulation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single simulation step at {@link GameSimulation#TIME_STEP}, with the runner, the ground and a
+ * given number of enemies in the world. Goes through {@link GameSimulation#step()} so enemies are
+ * recycled and contact events drained the way they are in game, rather than stepping the world
+ * alone and measuring enemies that have long left it
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class WorldStepBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int enemies;
+
+    private GameSimulation simulation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GdxNativesLoader.load();
+        simulation = new GameSimulation();
+        simulation.setConcurrentEnemies(enemies);
+        simulation.startRun(BenchmarkUtils.SEED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        simulation.dispose();
+    }
+
+    @Benchmark
+    public int step() {
+        // Enemies stop spawning once the runner is hit, so keep a run going
+        if (!simulation.isRunning()) {
+            simulation.startRun(BenchmarkUtils.SEED);
+        }
+        simulation.step();
+        return simulation.getTick();
+    }
+
+}
@@ -17,7 +17,11 @@
 package com.stc.runner;
 
 import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.stc.runner.screens.GameScreen;
+import com.stc.runner.screens.LoadingScreen;
 import com.stc.runner.utils.AssetsManager;
 import com.stc.runner.utils.AudioUtils;
 import com.stc.runner.utils.GameEventListener;
@@ -25,20 +29,77 @@ import com.stc.runner.utils.GameManager;
 
 public class MartianRun extends Game {
 
+    // Loading time per frame, short enough for the loading screen to keep animating
+    private static final int LOADING_MILLIS_PER_FRAME = 12;
+
+    private long createTime;
+    private boolean assetsLoaded;
+    private boolean audioInitialized;
+    private boolean startupLogged;
+
     public MartianRun(GameEventListener listener) {
         GameManager.getInstance().setGameEventListener(listener);
     }
 
     @Override
     public void create() {
-        AssetsManager.loadAssets();
-        setScreen(new GameScreen());
+        createTime = TimeUtils.nanoTime();
+        GameManager.getInstance().loadPlayerData();
+        AssetsManager.queueAssets();
+        setScreen(new LoadingScreen());
+    }
+
+    @Override
+    public void render() {
+        if (!assetsLoaded) {
+            loadAssets();
+        }
+
+        super.render();
+
+        if (!startupLogged && getScreen() instanceof GameScreen) {
+            Gdx.app.log(MartianRun.class.getSimpleName(), "Startup took "
+                    + (TimeUtils.nanoTime() - createTime) / 1000000 + " ms");
+            startupLogged = true;
+        }
+    }
+
+    /**
+     * Switches to the game as soon as it can be drawn and starts the music whenever the audio
+     * comes in, which may be after the menu is up
+     */
+    private void loadAssets() {
+        assetsLoaded = AssetsManager.update(LOADING_MILLIS_PER_FRAME);
+
+        if (!audioInitialized && AssetsManager.isAudioLoaded()) {
+            AudioUtils.getInstance().init();
+            audioInitialized = true;
+        }
+
+        if (AssetsManager.isGraphicsLoaded() && getScreen() instanceof LoadingScreen) {
+            Screen loadingScreen = getScreen();
+            setScreen(new GameScreen());
+            loadingScreen.dispose();
+        }
+    }
+
+    @Override
+    public void pause() {
+        super.pause();
+        AudioUtils.getInstance().saveSettings();
+        GameManager.getInstance().saveStats();
+        GameManager.getInstance().submitPendingAchievements();
     }
 
     @Override
     public void dispose() {
         super.dispose();
+        // Game only hides the screen, it doesn't dispose it
+        if (getScreen() != null) {
+            getScreen().dispose();
+        }
         AudioUtils.dispose();
         AssetsManager.dispose();
+        GameManager.getInstance().closePlayerData();
     }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.actors;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.stc.runner.utils.AssetsManager;
+import com.stc.runner.utils.FrameProfiler;
+
+/**
+ * Shows frame time percentiles and what went into the last frame: physics steps, batch flushes
+ * (one per texture bind, plus the odd flush for a full buffer), bodies, actors and heap growth.
+ * The stage hands it the counts after every frame, and the text is only rebuilt a couple of times
+ * a second so the overlay doesn't skew what it measures
+ */
+public class DebugOverlay extends Actor {
+
+    private static final float REFRESH_INTERVAL = 0.5f;
+
+    private Rectangle bounds;
+    private FrameProfiler profiler;
+    private BitmapFontCache fontCache;
+    private final StringBuilder text = new StringBuilder(192);
+    private float timeSinceRefresh = REFRESH_INTERVAL;
+
+    private int steps;
+    private int renderCalls;
+    private int bodies;
+    private int actors;
+
+    public DebugOverlay(Rectangle bounds, FrameProfiler profiler) {
+        this.bounds = bounds;
+        this.profiler = profiler;
+        setWidth(bounds.width);
+        setHeight(bounds.height);
+        fontCache = new BitmapFontCache(AssetsManager.getSmallestFont());
+    }
+
+    public void setFrameCounts(int steps, int renderCalls, int bodies, int actors) {
+        this.steps = steps;
+        this.renderCalls = renderCalls;
+        this.bodies = bodies;
+        this.actors = actors;
+    }
+
+    @Override
+    public void act(float delta) {
+        super.act(delta);
+
+        timeSinceRefresh += delta;
+        if (timeSinceRefresh < REFRESH_INTERVAL) {
+            return;
+        }
+        timeSinceRefresh = 0;
+
+        text.setLength(0);
+        text.append("frame ms p50/p95/p99: ");
+        appendMillis(profiler.getFrameTime(0.5f)).append(" / ");
+        appendMillis(profiler.getFrameTime(0.95f)).append(" / ");
+        appendMillis(profiler.getFrameTime(0.99f));
+        text.append("\nwork ms p50/p99: ");
+        appendMillis(profiler.getWorkTime(0.5f)).append(" / ");
+        appendMillis(profiler.getWorkTime(0.99f));
+        text.append("\nsteps: ").append(steps).append(", render calls: ").append(renderCalls)
+                .append("\nbodies: ").append(bodies).append(", actors: ").append(actors)
+                .append("\nheap growth: ").append((int) (profiler.getHeapGrowthPerFrame()))
+                .append(" B/frame");
+        if (profiler.isTracing()) {
+            text.append("\ntracing");
+        }
+        fontCache.setWrappedText(text, bounds.x, bounds.y + bounds.height, bounds.width,
+                BitmapFont.HAlignment.LEFT);
+    }
+
+    /**
+     * Appends with one decimal, since appending a float directly allocates
+     */
+    private StringBuilder appendMillis(float millis) {
+        int tenths = Math.round(millis * 10);
+        return text.append(tenths / 10).append('.').append(tenths % 10);
+    }
+
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        super.draw(batch, parentAlpha);
+        fontCache.draw(batch);
+    }
+
+}
@@ -19,19 +19,19 @@ package com.stc.runner.actors;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.Batch;
-import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.utils.Pool;
 import com.stc.runner.box2d.EnemyUserData;
 import com.stc.runner.enums.GameState;
 import com.stc.runner.utils.AssetsManager;
 import com.stc.runner.utils.GameManager;
 
-public class Enemy extends GameActor {
+public class Enemy extends GameActor implements Pool.Poolable {
 
     private Animation animation;
     private float stateTime;
 
-    public Enemy(Body body) {
-        super(body);
+    public Enemy(EnemyUserData userData) {
+        super(userData);
         animation = AssetsManager.getAnimation(getUserData().getAnimationAssetId());
         stateTime = 0f;
     }
@@ -41,10 +41,16 @@ public class Enemy extends GameActor {
         return (EnemyUserData) userData;
     }
 
+    /**
+     * Restarts the animation when the enemy's body is respawned from the pool
+     */
     @Override
-    public void act(float delta) {
-        super.act(delta);
-        body.setLinearVelocity(getUserData().getLinearVelocity());
+    public void reset() {
+        stateTime = 0f;
+    }
+
+    public void setStateTime(float stateTime) {
+        this.stateTime = stateTime;
     }
 
     @Override
@@ -17,6 +17,7 @@
 package com.stc.runner.actors;
 
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.stc.runner.box2d.UserData;
@@ -31,11 +32,26 @@ public abstract class GameActor extends Actor {
     protected Rectangle screenRectangle;
 
     public GameActor(Body body) {
+        this((UserData) body.getUserData());
         this.body = body;
-        this.userData = (UserData) body.getUserData();
+    }
+
+    /**
+     * For objects the simulation moves without a body
+     */
+    public GameActor(UserData userData) {
+        this.userData = userData;
         screenRectangle = new Rectangle();
     }
 
+    /**
+     * Points the actor to a new body, i.e. the runner's body of the next run
+     */
+    public void setBody(Body body) {
+        this.body = body;
+        this.userData = (UserData) body.getUserData();
+    }
+
     @Override
     public void act(float delta) {
         super.act(delta);
@@ -44,7 +60,7 @@ public abstract class GameActor extends Actor {
             return;
         }
 
-        if (body.getUserData() != null) {
+        if (body == null || body.getUserData() != null) {
             updateRectangle();
         } else {
             // This means the world destroyed the body (enemy or runner went out of bounds)
@@ -56,8 +72,10 @@ public abstract class GameActor extends Actor {
     public abstract UserData getUserData();
 
     private void updateRectangle() {
-        screenRectangle.x = transformToScreen(body.getPosition().x - userData.getWidth() / 2);
-        screenRectangle.y = transformToScreen(body.getPosition().y - userData.getHeight() / 2);
+        // Interpolated by the stage between the last two physics steps
+        Vector2 position = userData.getRenderPosition();
+        screenRectangle.x = transformToScreen(position.x - userData.getWidth() / 2);
+        screenRectangle.y = transformToScreen(position.y - userData.getHeight() / 2);
         screenRectangle.width = transformToScreen(userData.getWidth());
         screenRectangle.height = transformToScreen(userData.getHeight());
     }
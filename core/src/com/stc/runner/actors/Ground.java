@@ -16,74 +16,28 @@
 
 package com.stc.runner.actors;
 
-import com.badlogic.gdx.graphics.g2d.Batch;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.physics.box2d.Body;
-import com.stc.runner.box2d.GroundUserData;
-import com.stc.runner.enums.GameState;
+import com.stc.runner.box2d.UserData;
 import com.stc.runner.utils.AssetsManager;
 import com.stc.runner.utils.Constants;
-import com.stc.runner.utils.GameManager;
 
-public class Ground extends GameActor {
-
-    private final TextureRegion textureRegion;
-    private Rectangle textureRegionBounds1;
-    private Rectangle textureRegionBounds2;
-    private int speed = 10;
+public class Ground extends ScrollingLayer {
 
     public Ground(Body body) {
-        super(body);
-        textureRegion = AssetsManager.getTextureRegion(Constants.GROUND_ASSETS_ID);
-        textureRegionBounds1 = new Rectangle(0 - getUserData().getWidth() / 2, 0, getUserData().getWidth(),
-                getUserData().getHeight());
-        textureRegionBounds2 = new Rectangle(getUserData().getWidth() / 2, 0, getUserData().getWidth(),
-                getUserData().getHeight());
-    }
-
-    @Override
-    public GroundUserData getUserData() {
-        return (GroundUserData) userData;
-    }
-
-    @Override
-    public void act(float delta) {
-        super.act(delta);
-
-        if (GameManager.getInstance().getGameState() != GameState.RUNNING) {
-            return;
-        }
-
-        if (leftBoundsReached(delta)) {
-            resetBounds();
-        } else {
-            updateXBounds(-delta);
-        }
-    }
-
-    @Override
-    public void draw(Batch batch, float parentAlpha) {
-        super.draw(batch, parentAlpha);
-        batch.draw(textureRegion, textureRegionBounds1.x, screenRectangle.y, screenRectangle.getWidth(),
-                screenRectangle.getHeight());
-        batch.draw(textureRegion, textureRegionBounds2.x, screenRectangle.y, screenRectangle.getWidth(),
-                screenRectangle.getHeight());
-    }
-
-    private boolean leftBoundsReached(float delta) {
-        return (textureRegionBounds2.x - transformToScreen(delta * speed)) <= 0;
-    }
-
-    private void updateXBounds(float delta) {
-        textureRegionBounds1.x += transformToScreen(delta * speed);
-        textureRegionBounds2.x += transformToScreen(delta * speed);
+        super(AssetsManager.getTextureRegion(Constants.GROUND_ASSETS_ID), getScreenBounds(body),
+                Constants.GROUND_SPEED_FACTOR);
     }
 
-    private void resetBounds() {
-        textureRegionBounds1 = textureRegionBounds2;
-        textureRegionBounds2 = new Rectangle(textureRegionBounds1.x + screenRectangle.width, 0, screenRectangle.width,
-                screenRectangle.height);
+    /**
+     * The ground never moves, so its screen bounds only have to be worked out once. It's drawn
+     * across the whole screen
+     */
+    private static Rectangle getScreenBounds(Body body) {
+        UserData userData = (UserData) body.getUserData();
+        float y = body.getPosition().y - userData.getHeight() / 2;
+        return new Rectangle(0, y * Constants.WORLD_TO_SCREEN, Constants.APP_WIDTH,
+                userData.getHeight() * Constants.WORLD_TO_SCREEN);
     }
 
 }
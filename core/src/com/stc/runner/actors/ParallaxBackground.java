@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.actors;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.stc.runner.utils.AssetsManager;
+import com.stc.runner.utils.Constants;
+import com.stc.runner.utils.ParallaxConfig;
+
+/**
+ * A stack of {@link ScrollingLayer}s set up from the parallax config, each scrolling at its own
+ * fraction of the enemies' speed
+ */
+public class ParallaxBackground extends Group {
+
+    public ParallaxBackground() {
+        // Without a transform the layers are drawn straight into the stage's batch, so the whole
+        // stack goes out in the same batch as everything else
+        setTransform(false);
+
+        for (ParallaxConfig.Layer layer : AssetsManager.getParallaxConfig().layers) {
+            float height = layer.height > 0 ? layer.height : Constants.APP_HEIGHT - layer.y;
+            addActor(new ScrollingLayer(layer.textureRegion,
+                    new Rectangle(0, layer.y, Constants.APP_WIDTH, height), layer.speedFactor));
+        }
+    }
+
+}
@@ -17,45 +17,31 @@
 package com.stc.runner.actors;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.physics.box2d.Body;
 import com.stc.runner.box2d.RunnerUserData;
-import com.stc.runner.enums.Difficulty;
 import com.stc.runner.enums.GameState;
 import com.stc.runner.utils.AssetsManager;
-import com.stc.runner.utils.AudioUtils;
 import com.stc.runner.utils.Constants;
 import com.stc.runner.utils.GameManager;
 
 public class Runner extends GameActor {
 
-    private boolean dodging;
-    private boolean jumping;
-    private boolean hit;
     private Animation runningAnimation;
     private TextureRegion jumpingTexture;
     private TextureRegion dodgingTexture;
     private TextureRegion hitTexture;
     private float stateTime;
 
-    private Sound jumpSound;
-    private Sound hitSound;
-
-    private int jumpCount;
-
     public Runner(Body body) {
         super(body);
-        jumpCount = 0;
         runningAnimation = AssetsManager.getAnimation(Constants.RUNNER_RUNNING_ASSETS_ID);
         stateTime = 0f;
         jumpingTexture = AssetsManager.getTextureRegion(Constants.RUNNER_JUMPING_ASSETS_ID);
         dodgingTexture = AssetsManager.getTextureRegion(Constants.RUNNER_DODGING_ASSETS_ID);
         hitTexture = AssetsManager.getTextureRegion(Constants.RUNNER_HIT_ASSETS_ID);
-        jumpSound = AudioUtils.getInstance().getJumpSound();
-        hitSound = AudioUtils.getInstance().getHitSound();
     }
 
     @Override
@@ -66,13 +52,13 @@ public class Runner extends GameActor {
         float y = screenRectangle.y;
         float width = screenRectangle.width * 1.2f;
 
-        if (dodging) {
+        if (getUserData().isDodging()) {
             batch.draw(dodgingTexture, x, y + screenRectangle.height / 4, width, screenRectangle.height * 3 / 4);
-        } else if (hit) {
+        } else if (getUserData().isHit()) {
             // When he's hit we also want to apply rotation if the body has been rotated
             batch.draw(hitTexture, x, y, width * 0.5f, screenRectangle.height * 0.5f, width, screenRectangle.height, 1f,
-                    1f, (float) Math.toDegrees(body.getAngle()));
-        } else if (jumping) {
+                    1f, (float) Math.toDegrees(getUserData().getRenderAngle()));
+        } else if (getUserData().isJumping()) {
             batch.draw(jumpingTexture, x, y, width, screenRectangle.height);
         } else {
             // Running
@@ -88,61 +74,4 @@ public class Runner extends GameActor {
         return (RunnerUserData) userData;
     }
 
-    public void jump() {
-
-        if (!(jumping || dodging || hit)) {
-            body.applyLinearImpulse(getUserData().getJumpingLinearImpulse(), body.getWorldCenter(), true);
-            jumping = true;
-            AudioUtils.getInstance().playSound(jumpSound);
-            jumpCount++;
-        }
-
-    }
-
-    public void landed() {
-        jumping = false;
-    }
-
-    public void dodge() {
-        if (!(jumping || hit)) {
-            body.setTransform(getUserData().getDodgePosition(), getUserData().getDodgeAngle());
-            dodging = true;
-        }
-    }
-
-    public void stopDodge() {
-        dodging = false;
-        // If the runner is hit don't force him back to the running position
-        if (!hit) {
-            body.setTransform(getUserData().getRunningPosition(), 0f);
-        }
-    }
-
-    public boolean isDodging() {
-        return dodging;
-    }
-
-    public void hit() {
-        body.applyAngularImpulse(getUserData().getHitAngularImpulse(), true);
-        hit = true;
-        AudioUtils.getInstance().playSound(hitSound);
-    }
-
-    public boolean isHit() {
-        return hit;
-    }
-
-    public void onDifficultyChange(Difficulty newDifficulty) {
-        setGravityScale(newDifficulty.getRunnerGravityScale());
-        getUserData().setJumpingLinearImpulse(newDifficulty.getRunnerJumpingLinearImpulse());
-    }
-
-    public void setGravityScale(float gravityScale) {
-        body.setGravityScale(gravityScale);
-        body.resetMassData();
-    }
-
-    public int getJumpCount() {
-        return jumpCount;
-    }
 }
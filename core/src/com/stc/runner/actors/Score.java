@@ -18,52 +18,61 @@ package com.stc.runner.actors;
 
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.scenes.scene2d.Actor;
-import com.stc.runner.enums.GameState;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.stc.runner.simulation.GameSimulation;
 import com.stc.runner.utils.AssetsManager;
-import com.stc.runner.utils.GameManager;
 
+/**
+ * Draws the score of the current run. The glyphs are laid out into a cache only when the score
+ * changes, and the digits are written into a reused buffer, so drawing doesn't allocate
+ */
 public class Score extends Actor {
 
-    private float score;
-    private int multiplier;
     private Rectangle bounds;
-    private BitmapFont font;
+    private GameSimulation simulation;
+    private BitmapFontCache fontCache;
+    private final StringBuilder text = new StringBuilder(10);
+    private int cachedScore = -1;
 
-    public Score(Rectangle bounds) {
+    public Score(Rectangle bounds, GameSimulation simulation) {
         this.bounds = bounds;
+        this.simulation = simulation;
         setWidth(bounds.width);
         setHeight(bounds.height);
-        score = 0;
-        multiplier = 5;
-        font = AssetsManager.getSmallFont();
-    }
-
-    @Override
-    public void act(float delta) {
-        super.act(delta);
-        if (GameManager.getInstance().getGameState() != GameState.RUNNING) {
-            return;
-        }
-        score += multiplier * delta;
+        fontCache = new BitmapFontCache(AssetsManager.getSmallFont());
     }
 
     @Override
     public void draw(Batch batch, float parentAlpha) {
         super.draw(batch, parentAlpha);
-        if (getScore() == 0) {
+        int score = getScore();
+        if (score == 0) {
             return;
         }
-        font.drawWrapped(batch, String.format("%d", getScore()), bounds.x, bounds.y, bounds.width, BitmapFont.HAlignment.RIGHT);
+
+        if (score != cachedScore) {
+            updateText(score);
+        }
+
+        fontCache.draw(batch);
+    }
+
+    private void updateText(int score) {
+        text.setLength(0);
+        text.append(score);
+        fontCache.setWrappedText(text, bounds.x, bounds.y, bounds.width, BitmapFont.HAlignment.RIGHT);
+        cachedScore = score;
     }
 
     public int getScore() {
-        return (int) Math.floor(score);
+        return simulation.getScore();
     }
 
-    public void setMultiplier(int multiplier) {
-        this.multiplier = multiplier;
+    public Rectangle getBounds() {
+        return bounds;
     }
 
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.actors;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.stc.runner.enums.Difficulty;
+import com.stc.runner.enums.GameState;
+import com.stc.runner.utils.Constants;
+import com.stc.runner.utils.GameManager;
+
+/**
+ * A texture region that scrolls to the left by advancing its texture coordinates instead of moving
+ * copies of it around. Images that have a power-of-two texture of their own are drawn as a single
+ * quad with {@link Texture.TextureWrap#Repeat}. Regions inside an atlas can't wrap, and GLES2
+ * devices without NPOT support can't repeat other textures, so those are drawn as two quads split
+ * where the region wraps around. Either way it's one texture and no flush in between
+ */
+public class ScrollingLayer extends Actor {
+
+    private final TextureRegion textureRegion;
+    private final boolean wraps;
+    private float speedFactor;
+    // Fraction of the region scrolled out on the left, between 0 and 1
+    private float offset;
+
+    /**
+     * @param speedFactor how fast the layer scrolls relative to the enemies, i.e. 1 moves with the
+     *                    enemies and 0 stands still
+     */
+    public ScrollingLayer(TextureRegion textureRegion, Rectangle bounds, float speedFactor) {
+        this.textureRegion = textureRegion;
+        this.speedFactor = speedFactor;
+        setBounds(bounds.x, bounds.y, bounds.width, bounds.height);
+
+        Texture texture = textureRegion.getTexture();
+        wraps = textureRegion.getU() == 0f && textureRegion.getU2() == 1f
+                && MathUtils.isPowerOfTwo(texture.getWidth())
+                && MathUtils.isPowerOfTwo(texture.getHeight());
+        if (wraps) {
+            texture.setWrap(Texture.TextureWrap.Repeat,
+                    Texture.TextureWrap.ClampToEdge);
+        }
+    }
+
+    @Override
+    public void act(float delta) {
+        super.act(delta);
+
+        if (GameManager.getInstance().getGameState() != GameState.RUNNING) {
+            return;
+        }
+
+        offset += delta * getSpeed() / getWidth();
+        offset -= (int) offset;
+    }
+
+    /**
+     * @return the speed in pixels per second, following the enemies at the current difficulty
+     */
+    private float getSpeed() {
+        Difficulty difficulty = GameManager.getInstance().getDifficulty();
+        if (difficulty == null) {
+            return 0f;
+        }
+        return -difficulty.getEnemyLinearVelocity().x * Constants.WORLD_TO_SCREEN * speedFactor;
+    }
+
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        super.draw(batch, parentAlpha);
+
+        Texture texture = textureRegion.getTexture();
+        float u = textureRegion.getU();
+        float u2 = textureRegion.getU2();
+        // Flipped since batches put v at the bottom
+        float v = textureRegion.getV2();
+        float v2 = textureRegion.getV();
+
+        if (wraps) {
+            batch.draw(texture, getX(), getY(), getWidth(), getHeight(), offset, v, offset + 1f, v2);
+            return;
+        }
+
+        float splitU = u + (u2 - u) * offset;
+        float splitWidth = getWidth() * (1f - offset);
+        batch.draw(texture, getX(), getY(), splitWidth, getHeight(), splitU, v, u2, v2);
+        if (offset > 0f) {
+            batch.draw(texture, getX() + splitWidth, getY(), getWidth() - splitWidth, getHeight(), u,
+                    v, splitU, v2);
+        }
+    }
+
+    public void setSpeedFactor(float speedFactor) {
+        this.speedFactor = speedFactor;
+    }
+
+}
@@ -19,23 +19,19 @@ package com.stc.runner.actors.menu;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.ui.Button;
-import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.stc.runner.utils.AssetsManager;
 
 public abstract class GameButton extends Button {
 
     protected Rectangle bounds;
-    private Skin skin;
-
+    private String regionName;
 
     public GameButton(Rectangle bounds) {
         this.bounds = bounds;
         setWidth(bounds.width);
         setHeight(bounds.height);
         setBounds(bounds.x, bounds.y, bounds.width, bounds.height);
-        skin = new Skin();
-        skin.addRegions(AssetsManager.getTextureAtlas());
         loadTextureRegion();
         addListener(new ClickListener() {
             @Override
@@ -47,10 +43,21 @@ public abstract class GameButton extends Button {
         });
     }
 
+    /**
+     * Buttons stay on the stage between game states, so they pick up a new region whenever the
+     * state they depend on changes
+     */
+    @Override
+    public void act(float delta) {
+        super.act(delta);
+        if (!getRegionName().equals(regionName)) {
+            loadTextureRegion();
+        }
+    }
+
     protected void loadTextureRegion() {
-        ButtonStyle style = new ButtonStyle();
-        style.up = skin.getDrawable(getRegionName());
-        setStyle(style);
+        regionName = getRegionName();
+        setStyle(AssetsManager.getButtonStyle(regionName));
     }
 
     protected abstract String getRegionName();
@@ -17,9 +17,7 @@
 package com.stc.runner.actors.menu;
 
 import com.badlogic.gdx.math.Rectangle;
-import com.stc.runner.enums.GameState;
 import com.stc.runner.utils.Constants;
-import com.stc.runner.utils.GameManager;
 
 public class LeaderboardButton extends GameButton {
 
@@ -39,14 +37,6 @@ public class LeaderboardButton extends GameButton {
         return Constants.LEADERBOARD_REGION_NAME;
     }
 
-    @Override
-    public void act(float delta) {
-        super.act(delta);
-        if (GameManager.getInstance().getGameState() != GameState.OVER) {
-            remove();
-        }
-    }
-
     @Override
     public void touched() {
         listener.onLeaderboard();
@@ -30,11 +30,7 @@ public class MusicButton extends GameButton {
     }
 
     public void touched() {
-        if (AudioUtils.getInstance().getMusic().isPlaying()) {
-            AudioUtils.getInstance().pauseMusic();
-        }
         AudioUtils.getInstance().toggleMusic();
-        AudioUtils.getInstance().playMusic();
     }
 
 }
@@ -41,14 +41,6 @@ public class PauseButton extends GameButton {
         return GameManager.getInstance().getGameState() == GameState.PAUSED ? Constants.PLAY_REGION_NAME : Constants.PAUSE_REGION_NAME;
     }
 
-    @Override
-    public void act(float delta) {
-        super.act(delta);
-        if (GameManager.getInstance().getGameState() == GameState.OVER) {
-            remove();
-        }
-    }
-
     @Override
     public void touched() {
         if (GameManager.getInstance().getGameState() == GameState.PAUSED) {
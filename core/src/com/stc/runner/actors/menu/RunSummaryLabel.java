@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.actors.menu;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.stc.runner.utils.AssetsManager;
+import com.stc.runner.utils.LocalLeaderboard;
+
+/**
+ * Shows how the last run compares to the ones played before on this device, from the local
+ * leaderboard, so there's no wait on the online one
+ */
+public class RunSummaryLabel extends Actor {
+
+    private Rectangle bounds;
+    private BitmapFont font;
+    private String text;
+
+    public RunSummaryLabel(Rectangle bounds) {
+        this.bounds = bounds;
+        setWidth(bounds.width);
+        setHeight(bounds.height);
+        font = AssetsManager.getSmallestFont();
+    }
+
+    /**
+     * @param summary null to show nothing, i.e. while the run is still being recorded
+     */
+    public void setSummary(LocalLeaderboard.Summary summary) {
+        if (summary == null) {
+            text = null;
+            return;
+        }
+
+        StringBuilder builder = new StringBuilder();
+        builder.append("Rank ").append(summary.rank).append(" of ").append(summary.runCount);
+        if (summary.runCount > 1) {
+            builder.append(", better than ").append(summary.percentile).append("% of your runs");
+        }
+        builder.append("\nBest today: ").append(summary.todayBest)
+                .append("\nTop scores:");
+        for (int score : summary.topScores) {
+            builder.append("  ").append(score);
+        }
+        text = builder.toString();
+    }
+
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        super.draw(batch, parentAlpha);
+        if (text != null) {
+            font.drawWrapped(batch, text, bounds.x, bounds.y, bounds.width,
+                    BitmapFont.HAlignment.CENTER);
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.box2d;
+
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Keeps track of the bodies created and destroyed through
+ * {@link com.stc.runner.utils.WorldUtils} so they can be walked every frame without asking the
+ * {@link com.badlogic.gdx.physics.box2d.World} for a fresh list
+ */
+public class BodyRegistry {
+
+    private Body ground;
+    private Body runner;
+    private final Array<Body> enemies = new Array<Body>();
+    private final Array<Body> bodies = new Array<Body>();
+
+    public void register(Body body) {
+        switch (((UserData) body.getUserData()).getUserDataType()) {
+            case GROUND:
+                ground = body;
+                break;
+            case RUNNER:
+                runner = body;
+                break;
+            case ENEMY:
+                enemies.add(body);
+                break;
+        }
+        bodies.add(body);
+    }
+
+    public void unregister(Body body) {
+        if (body == ground) {
+            ground = null;
+        } else if (body == runner) {
+            runner = null;
+        } else {
+            enemies.removeValue(body, true);
+        }
+        bodies.removeValue(body, true);
+    }
+
+    public Body getGround() {
+        return ground;
+    }
+
+    public Body getRunner() {
+        return runner;
+    }
+
+    public Array<Body> getEnemies() {
+        return enemies;
+    }
+
+    /**
+     * @return every registered body, including the ground, the runner and the enemies
+     */
+    public Array<Body> getBodies() {
+        return bodies;
+    }
+
+}
@@ -17,19 +17,26 @@
 package com.stc.runner.box2d;
 
 import com.badlogic.gdx.math.Vector2;
+import com.stc.runner.enums.EnemyType;
 import com.stc.runner.enums.UserDataType;
 import com.stc.runner.utils.Constants;
 
 public class EnemyUserData extends UserData {
 
+    private final EnemyType enemyType;
     private Vector2 linearVelocity;
     private String animationAssetId;
 
-    public EnemyUserData(float width, float height, String animationAssetId) {
-        super(width, height);
+    public EnemyUserData(EnemyType enemyType) {
+        super(enemyType.getWidth(), enemyType.getHeight());
         userDataType = UserDataType.ENEMY;
         linearVelocity = Constants.ENEMY_LINEAR_VELOCITY;
-        this.animationAssetId = animationAssetId;
+        this.enemyType = enemyType;
+        this.animationAssetId = enemyType.getAnimationAssetId();
+    }
+
+    public EnemyType getEnemyType() {
+        return enemyType;
     }
 
     public void setLinearVelocity(Vector2 linearVelocity) {
@@ -25,6 +25,10 @@ public class RunnerUserData extends UserData {
     private final Vector2 runningPosition = new Vector2(Constants.RUNNER_X, Constants.RUNNER_Y);
     private final Vector2 dodgePosition = new Vector2(Constants.RUNNER_DODGE_X, Constants.RUNNER_DODGE_Y);
     private Vector2 jumpingLinearImpulse;
+    private boolean jumping;
+    private boolean dodging;
+    private boolean hit;
+    private int jumpCount;
 
     public RunnerUserData(float width, float height) {
         super(width, height);
@@ -57,4 +61,36 @@ public class RunnerUserData extends UserData {
         return Constants.RUNNER_HIT_ANGULAR_IMPULSE;
     }
 
+    public boolean isJumping() {
+        return jumping;
+    }
+
+    public void setJumping(boolean jumping) {
+        this.jumping = jumping;
+    }
+
+    public boolean isDodging() {
+        return dodging;
+    }
+
+    public void setDodging(boolean dodging) {
+        this.dodging = dodging;
+    }
+
+    public boolean isHit() {
+        return hit;
+    }
+
+    public void setHit(boolean hit) {
+        this.hit = hit;
+    }
+
+    public int getJumpCount() {
+        return jumpCount;
+    }
+
+    public void incrementJumpCount() {
+        jumpCount++;
+    }
+
 }
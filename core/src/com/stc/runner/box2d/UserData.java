@@ -16,6 +16,8 @@
 
 package com.stc.runner.box2d;
 
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
 import com.stc.runner.enums.UserDataType;
 
 public abstract class UserData {
@@ -24,6 +26,11 @@ public abstract class UserData {
     protected float width;
     protected float height;
 
+    private final Vector2 previousPosition = new Vector2();
+    private final Vector2 renderPosition = new Vector2();
+    private float previousAngle;
+    private float renderAngle;
+
     public UserData() {
 
     }
@@ -53,4 +60,56 @@ public abstract class UserData {
         this.height = height;
     }
 
+    /**
+     * Saves the body's transform before the last physics step of a frame so the rendered position
+     * can be interpolated between that step and the current one
+     */
+    public void saveTransform(Body body) {
+        saveTransform(body.getPosition(), body.getAngle());
+    }
+
+    /**
+     * Same as {@link #saveTransform(Body)} for objects moved without a body
+     */
+    public void saveTransform(Vector2 position, float angle) {
+        previousPosition.set(position);
+        previousAngle = angle;
+    }
+
+    /**
+     * Blends the saved transform with the body's current one
+     *
+     * @param alpha fraction of a time step left in the accumulator, between 0 and 1
+     */
+    public void interpolate(Body body, float alpha) {
+        interpolate(body.getPosition(), body.getAngle(), alpha);
+    }
+
+    public void interpolate(Vector2 position, float angle, float alpha) {
+        renderPosition.set(previousPosition).lerp(position, alpha);
+        renderAngle = previousAngle + (angle - previousAngle) * alpha;
+    }
+
+    /**
+     * Discards the saved transform. Used when a body is created or teleported so it doesn't get
+     * interpolated from its old position
+     */
+    public void resetTransform(Body body) {
+        resetTransform(body.getPosition(), body.getAngle());
+    }
+
+    public void resetTransform(Vector2 position, float angle) {
+        saveTransform(position, angle);
+        renderPosition.set(previousPosition);
+        renderAngle = previousAngle;
+    }
+
+    public Vector2 getRenderPosition() {
+        return renderPosition;
+    }
+
+    public float getRenderAngle() {
+        return renderAngle;
+    }
+
 }
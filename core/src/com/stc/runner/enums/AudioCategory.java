@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.enums;
+
+/**
+ * Each category has its own volume and can be turned on and off from the menu
+ */
+public enum AudioCategory {
+
+    MUSIC("music_on", "music_volume"),
+    EFFECTS("sound_on", "sound_volume");
+
+    private String enabledPreference;
+    private String volumePreference;
+
+    AudioCategory(String enabledPreference, String volumePreference) {
+        this.enabledPreference = enabledPreference;
+        this.volumePreference = volumePreference;
+    }
+
+    public String getEnabledPreference() {
+        return enabledPreference;
+    }
+
+    public String getVolumePreference() {
+        return volumePreference;
+    }
+
+}
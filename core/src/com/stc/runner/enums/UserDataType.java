@@ -16,10 +16,28 @@
 
 package com.stc.runner.enums;
 
+import com.stc.runner.utils.Constants;
+
 public enum UserDataType {
 
-    GROUND,
-    RUNNER,
-    ENEMY
+    GROUND(Constants.GROUND_CATEGORY_BITS, Constants.GROUND_MASK_BITS),
+    RUNNER(Constants.RUNNER_CATEGORY_BITS, Constants.RUNNER_MASK_BITS),
+    ENEMY(Constants.ENEMY_CATEGORY_BITS, Constants.ENEMY_MASK_BITS);
+
+    private short categoryBits;
+    private short maskBits;
+
+    UserDataType(short categoryBits, short maskBits) {
+        this.categoryBits = categoryBits;
+        this.maskBits = maskBits;
+    }
+
+    public short getCategoryBits() {
+        return categoryBits;
+    }
+
+    public short getMaskBits() {
+        return maskBits;
+    }
 
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.stc.runner.utils.AssetsManager;
+import com.stc.runner.utils.Constants;
+
+/**
+ * Shows a progress bar while {@link AssetsManager} loads. It's drawn with shapes, so it doesn't
+ * need any of the assets it's waiting for
+ */
+public class LoadingScreen implements Screen {
+
+    private static final float BAR_WIDTH = Constants.APP_WIDTH / 2;
+    private static final float BAR_HEIGHT = Constants.APP_HEIGHT / 32;
+
+    private OrthographicCamera camera;
+    private ShapeRenderer shapeRenderer;
+
+    public LoadingScreen() {
+        camera = new OrthographicCamera();
+        camera.setToOrtho(false, Constants.APP_WIDTH, Constants.APP_HEIGHT);
+        shapeRenderer = new ShapeRenderer();
+    }
+
+    @Override
+    public void render(float delta) {
+        Gdx.gl.glClearColor(0, 0, 0, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        float x = (Constants.APP_WIDTH - BAR_WIDTH) / 2;
+        float y = (Constants.APP_HEIGHT - BAR_HEIGHT) / 2;
+
+        shapeRenderer.setProjectionMatrix(camera.combined);
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        shapeRenderer.setColor(.21f, .22f, .21f, 1f);
+        shapeRenderer.rect(x, y, BAR_WIDTH, BAR_HEIGHT);
+        shapeRenderer.setColor(1f, 1f, 1f, 1f);
+        shapeRenderer.rect(x, y, BAR_WIDTH * AssetsManager.getProgress(), BAR_HEIGHT);
+        shapeRenderer.end();
+    }
+
+    @Override
+    public void resize(int width, int height) {
+
+    }
+
+    @Override
+    public void show() {
+
+    }
+
+    @Override
+    public void hide() {
+
+    }
+
+    @Override
+    public void pause() {
+
+    }
+
+    @Override
+    public void resume() {
+
+    }
+
+    @Override
+    public void dispose() {
+        shapeRenderer.dispose();
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.simulation;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.stc.runner.box2d.EnemyUserData;
+import com.stc.runner.enums.EnemyType;
+
+/**
+ * An enemy moved as a plain axis-aligned box instead of a kinematic Box2D body. Enemies only ever
+ * travel in a straight line at a constant velocity, so there's nothing Box2D needs to solve for
+ * them
+ */
+public class AabbEnemy {
+
+    private final EnemyUserData userData;
+    private final Vector2 position = new Vector2();
+
+    public AabbEnemy(EnemyType enemyType) {
+        userData = new EnemyUserData(enemyType);
+        respawn();
+    }
+
+    /**
+     * Moves the enemy back to the spawn position of its type
+     */
+    public void respawn() {
+        EnemyType enemyType = userData.getEnemyType();
+        position.set(enemyType.getX(), enemyType.getY());
+        userData.resetTransform(position, 0f);
+    }
+
+    public void step(float timeStep) {
+        Vector2 linearVelocity = userData.getLinearVelocity();
+        position.x += linearVelocity.x * timeStep;
+        position.y += linearVelocity.y * timeStep;
+    }
+
+    public boolean overlaps(Rectangle bounds) {
+        float halfWidth = userData.getWidth() / 2;
+        float halfHeight = userData.getHeight() / 2;
+        return position.x - halfWidth < bounds.x + bounds.width
+                && position.x + halfWidth > bounds.x
+                && position.y - halfHeight < bounds.y + bounds.height
+                && position.y + halfHeight > bounds.y;
+    }
+
+    public boolean inBounds() {
+        return position.x + userData.getWidth() / 2 > 0;
+    }
+
+    public void saveTransform() {
+        userData.saveTransform(position, 0f);
+    }
+
+    public void interpolate(float alpha) {
+        userData.interpolate(position, 0f, alpha);
+    }
+
+    public EnemyUserData getUserData() {
+        return userData;
+    }
+
+    public Vector2 getPosition() {
+        return position;
+    }
+
+}
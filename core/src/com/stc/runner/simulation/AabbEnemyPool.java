@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.simulation;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.stc.runner.enums.EnemyType;
+
+/**
+ * Keeps the active {@link AabbEnemy}s and reuses freed ones per
+ * {@link com.stc.runner.enums.EnemyType}, like {@link com.stc.runner.utils.EnemyPool} does for
+ * enemy bodies
+ */
+public class AabbEnemyPool {
+
+    private final Array<AabbEnemy> enemies = new Array<AabbEnemy>();
+    private final ObjectMap<EnemyType, Array<AabbEnemy>> freeEnemies;
+
+    public AabbEnemyPool() {
+        freeEnemies = new ObjectMap<EnemyType, Array<AabbEnemy>>();
+        for (EnemyType enemyType : EnemyType.values()) {
+            freeEnemies.put(enemyType, new Array<AabbEnemy>());
+        }
+    }
+
+    /**
+     * @return an active enemy at the spawn position of the given type
+     */
+    public AabbEnemy obtain(EnemyType enemyType) {
+        Array<AabbEnemy> free = freeEnemies.get(enemyType);
+
+        AabbEnemy enemy;
+        if (free.size == 0) {
+            enemy = new AabbEnemy(enemyType);
+        } else {
+            enemy = free.pop();
+            enemy.respawn();
+        }
+
+        enemies.add(enemy);
+        return enemy;
+    }
+
+    public void free(AabbEnemy enemy) {
+        enemies.removeValue(enemy, true);
+        freeEnemies.get(enemy.getUserData().getEnemyType()).add(enemy);
+    }
+
+    /**
+     * @return the active enemies
+     */
+    public Array<AabbEnemy> getEnemies() {
+        return enemies;
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.simulation;
+
+import com.stc.runner.enums.GameEventType;
+
+/**
+ * A ring buffer of preallocated {@link GameEvent}s, so events can be queued from places where
+ * acting on them right away isn't allowed or is too expensive (i.e. Box2D contact callbacks) and
+ * handled later without allocating. Not thread safe
+ */
+public class EventQueue {
+
+    private GameEvent[] events;
+    private int head;
+    private int size;
+
+    /**
+     * @param capacity initial number of slots, rounded up to a power of two
+     */
+    public EventQueue(int capacity) {
+        int slots = 1;
+        while (slots < capacity) {
+            slots <<= 1;
+        }
+        events = createEvents(slots);
+    }
+
+    public void push(GameEventType type) {
+        push(type, 0, 0);
+    }
+
+    public void push(GameEventType type, int score, int jumpCount) {
+        if (size == events.length) {
+            grow();
+        }
+        events[(head + size) & (events.length - 1)].set(type, score, jumpCount);
+        size++;
+    }
+
+    /**
+     * @return the oldest queued event or null if there are none. The returned instance gets reused
+     * by later pushes
+     */
+    public GameEvent poll() {
+        if (size == 0) {
+            return null;
+        }
+        GameEvent event = events[head];
+        head = (head + 1) & (events.length - 1);
+        size--;
+        return event;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Only happens if more events pile up between drains than the queue was sized for
+     */
+    private void grow() {
+        GameEvent[] newEvents = createEvents(events.length * 2);
+        for (int i = 0; i < size; i++) {
+            GameEvent event = events[(head + i) & (events.length - 1)];
+            newEvents[i].set(event.getType(), event.getScore(), event.getJumpCount());
+        }
+        events = newEvents;
+        head = 0;
+    }
+
+    private static GameEvent[] createEvents(int count) {
+        GameEvent[] events = new GameEvent[count];
+        for (int i = 0; i < count; i++) {
+            events[i] = new GameEvent();
+        }
+        return events;
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.simulation;
+
+import com.stc.runner.enums.GameEventType;
+
+/**
+ * A slot in an {@link EventQueue}. Instances are reused, so they shouldn't be kept after the next
+ * call to {@link EventQueue#poll()}
+ */
+public class GameEvent {
+
+    private GameEventType type;
+    private int score;
+    private int jumpCount;
+
+    void set(GameEventType type, int score, int jumpCount) {
+        this.type = type;
+        this.score = score;
+        this.jumpCount = jumpCount;
+    }
+
+    public GameEventType getType() {
+        return type;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getJumpCount() {
+        return jumpCount;
+    }
+
+}
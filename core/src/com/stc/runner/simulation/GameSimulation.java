@@ -0,0 +1,600 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.simulation;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.*;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.stc.runner.box2d.BodyRegistry;
+import com.stc.runner.box2d.EnemyUserData;
+import com.stc.runner.box2d.RunnerUserData;
+import com.stc.runner.box2d.UserData;
+import com.stc.runner.enums.Difficulty;
+import com.stc.runner.enums.EnemyType;
+import com.stc.runner.enums.GameEventType;
+import com.stc.runner.utils.BodyUtils;
+import com.stc.runner.utils.Constants;
+import com.stc.runner.utils.EnemyPool;
+import com.stc.runner.utils.GameRandom;
+import com.stc.runner.utils.RandomUtils;
+import com.stc.runner.utils.WorldUtils;
+
+/**
+ * The game rules without any rendering, audio or input handling: the world, the runner, the
+ * enemies, the score and the difficulty progression. It's advanced in fixed time steps and driven
+ * through {@link #jump()}, {@link #dodge()} and {@link #stopDodge()}, so it can run headless as
+ * fast as the machine allows. Anything the presentation layer needs to react to is reported
+ * through a {@link SimulationListener}
+ * <p/>
+ * Enemies are kinematic Box2D bodies by default. They can instead be moved as plain
+ * {@link AabbEnemy}s checked against the runner's bounding box, which leaves Box2D with only the
+ * runner and the ground. Runs play out slightly differently in each mode, so a replay only
+ * matches the mode it was recorded in
+ */
+public class GameSimulation implements ContactListener, Disposable {
+
+    public interface SimulationListener {
+        public void onEnemySpawned(EnemyUserData userData);
+
+        public void onEnemyFreed(EnemyUserData userData);
+
+        public void onRunnerJump();
+
+        public void onRunnerHit();
+
+        public void onDifficultyChange(Difficulty difficulty);
+
+        public void onGameOver(int score, int jumpCount);
+    }
+
+    /**
+     * Feeds inputs that have to land on exact ticks, i.e. a replay
+     */
+    public interface InputSource {
+        public void applyInputs(GameSimulation simulation, int tick);
+    }
+
+    public static final float TIME_STEP = 1 / 300f;
+    // Enough to keep up at 20 FPS, anything slower runs in slow motion rather than hitching
+    private static final int MAX_STEPS_PER_FRAME = 15;
+    public static final int VELOCITY_ITERATIONS = 6;
+    public static final int POSITION_ITERATIONS = 2;
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+
+    private final World world;
+    private final BodyRegistry bodyRegistry;
+    private final EnemyPool enemyPool;
+    // Only set when enemies don't have bodies
+    private final AabbEnemyPool aabbEnemyPool;
+    private final Rectangle runnerBounds = new Rectangle();
+    private int concurrentEnemies = 1;
+    private final SimulationListener listener;
+    // Contacts are only recorded while Box2D is stepping and acted upon once it's done
+    private final EventQueue contactEvents = new EventQueue(8);
+    private InputSource inputSource;
+    private Body runner;
+
+    private final GameRandom runRandom = new GameRandom(0);
+    private final GameRandom spawnRandom = new GameRandom(0);
+    private final GameRandom cosmeticRandom = new GameRandom(0);
+    private long seed;
+
+    private boolean running;
+    private int tick;
+    private float score;
+    private Difficulty difficulty;
+
+    private float accumulator;
+    private int stepsLastFrame;
+
+    public GameSimulation() {
+        this(new SimulationAdapter());
+    }
+
+    public GameSimulation(SimulationListener listener) {
+        this(listener, false);
+    }
+
+    /**
+     * @param aabbEnemies whether enemies are moved as {@link AabbEnemy}s instead of Box2D bodies
+     */
+    public GameSimulation(SimulationListener listener, boolean aabbEnemies) {
+        this.listener = listener;
+        aabbEnemyPool = aabbEnemies ? new AabbEnemyPool() : null;
+        world = WorldUtils.createWorld();
+        world.setContactListener(this);
+        bodyRegistry = new BodyRegistry();
+        enemyPool = new EnemyPool(world, bodyRegistry);
+        WorldUtils.createGround(world, bodyRegistry);
+        difficulty = DIFFICULTIES[0];
+    }
+
+    /**
+     * Starts a new run with a fresh runner and a first enemy. Runs started with the same seed and
+     * fed the same inputs on the same ticks play out identically
+     */
+    public void startRun(long seed) {
+        reset();
+
+        this.seed = seed;
+        runRandom.setSeed(seed);
+        runRandom.split(spawnRandom);
+        runRandom.split(cosmeticRandom);
+
+        runner = WorldUtils.createRunner(world, bodyRegistry);
+        running = true;
+        spawnEnemy();
+    }
+
+    /**
+     * Ends the current run and removes the runner and the enemies, leaving the world as empty as
+     * when it was created. Enemy bodies stay in their pool for the next run, so the same world can
+     * be reused for as many runs as needed
+     */
+    public void reset() {
+        if (runner != null) {
+            WorldUtils.destroyBody(world, bodyRegistry, runner);
+            runner = null;
+        }
+
+        Array<Body> enemies = bodyRegistry.getEnemies();
+        while (enemies.size > 0) {
+            freeEnemy(enemies.peek());
+        }
+
+        if (aabbEnemyPool != null) {
+            Array<AabbEnemy> aabbEnemies = aabbEnemyPool.getEnemies();
+            while (aabbEnemies.size > 0) {
+                freeEnemy(aabbEnemies.peek());
+            }
+        }
+
+        running = false;
+        difficulty = DIFFICULTIES[0];
+        tick = 0;
+        score = 0;
+        accumulator = 0;
+        contactEvents.clear();
+    }
+
+    /**
+     * Advances the simulation by a frame's worth of fixed time steps and interpolates the bodies'
+     * rendered transforms with what's left in the accumulator
+     */
+    public void update(float delta) {
+        // Clamp the frame time so a long hitch drops time instead of queueing a burst of steps
+        accumulator += Math.min(delta, MAX_STEPS_PER_FRAME * TIME_STEP);
+
+        int steps = Math.min((int) (accumulator / TIME_STEP), MAX_STEPS_PER_FRAME);
+
+        for (int i = 0; i < steps; i++) {
+            if (i == steps - 1) {
+                saveTransforms();
+            }
+            step();
+            accumulator -= TIME_STEP;
+        }
+
+        stepsLastFrame = steps;
+        interpolateTransforms(Math.min(accumulator / TIME_STEP, 1f));
+    }
+
+    /**
+     * Advances the simulation by exactly one {@link #TIME_STEP}
+     */
+    public void step() {
+        if (running) {
+            // Inputs recorded on a tick were applied after that many steps, before the next one
+            if (inputSource != null) {
+                inputSource.applyInputs(this, tick);
+            }
+            tick++;
+            score += difficulty.getScoreMultiplier() * TIME_STEP;
+            updateDifficulty();
+        }
+
+        updateBodies();
+        world.step(TIME_STEP, VELOCITY_ITERATIONS, POSITION_ITERATIONS);
+        if (aabbEnemyPool != null) {
+            stepAabbEnemies();
+        }
+        // Drained every step rather than every frame so a run plays out the same at any frame rate
+        processContactEvents();
+    }
+
+    public void jump() {
+        if (runner == null) {
+            return;
+        }
+
+        RunnerUserData userData = getRunnerUserData();
+        if (!(userData.isJumping() || userData.isDodging() || userData.isHit())) {
+            runner.applyLinearImpulse(userData.getJumpingLinearImpulse(), runner.getWorldCenter(), true);
+            userData.setJumping(true);
+            userData.incrementJumpCount();
+            listener.onRunnerJump();
+        }
+    }
+
+    public void dodge() {
+        if (runner == null) {
+            return;
+        }
+
+        RunnerUserData userData = getRunnerUserData();
+        if (!(userData.isJumping() || userData.isHit())) {
+            runner.setTransform(userData.getDodgePosition(), userData.getDodgeAngle());
+            userData.resetTransform(runner);
+            userData.setDodging(true);
+        }
+    }
+
+    public void stopDodge() {
+        if (runner == null || !getRunnerUserData().isDodging()) {
+            return;
+        }
+
+        RunnerUserData userData = getRunnerUserData();
+        userData.setDodging(false);
+        // If the runner is hit don't force him back to the running position
+        if (!userData.isHit()) {
+            runner.setTransform(userData.getRunningPosition(), 0f);
+            userData.resetTransform(runner);
+        }
+    }
+
+    /**
+     * Only the runner and the enemies can leave the screen, so there's no need to look at every body
+     * in the world
+     */
+    private void updateBodies() {
+        if (runner != null && !BodyUtils.bodyInBounds(runner)) {
+            WorldUtils.destroyBody(world, bodyRegistry, runner);
+            runner = null;
+        }
+
+        Array<Body> enemies = bodyRegistry.getEnemies();
+        // Backwards since out of bounds enemies are removed and new ones are appended
+        for (int i = enemies.size - 1; i >= 0; i--) {
+            Body enemy = enemies.get(i);
+            if (!BodyUtils.bodyInBounds(enemy)) {
+                if (running) {
+                    spawnEnemy();
+                }
+                freeEnemy(enemy);
+            }
+        }
+
+        if (aabbEnemyPool != null) {
+            Array<AabbEnemy> aabbEnemies = aabbEnemyPool.getEnemies();
+            for (int i = aabbEnemies.size - 1; i >= 0; i--) {
+                AabbEnemy enemy = aabbEnemies.get(i);
+                if (!enemy.inBounds()) {
+                    if (running) {
+                        spawnEnemy();
+                    }
+                    freeEnemy(enemy);
+                }
+            }
+        }
+
+        // Only does anything when more than one enemy is wanted on screen at once
+        while (running && getEnemyCount() < concurrentEnemies) {
+            spawnEnemy();
+        }
+    }
+
+    /**
+     * Moves the enemies and queues a hit if one of them overlaps the runner. The runner's box is
+     * the bounding box of its rotated fixture, which is exact while running or dodging
+     */
+    private void stepAabbEnemies() {
+        Array<AabbEnemy> enemies = aabbEnemyPool.getEnemies();
+        for (int i = 0; i < enemies.size; i++) {
+            enemies.get(i).step(TIME_STEP);
+        }
+
+        if (runner == null) {
+            return;
+        }
+
+        updateRunnerBounds();
+        for (int i = 0; i < enemies.size; i++) {
+            if (enemies.get(i).overlaps(runnerBounds)) {
+                contactEvents.push(GameEventType.RUNNER_HIT_ENEMY);
+                return;
+            }
+        }
+    }
+
+    private void updateRunnerBounds() {
+        RunnerUserData userData = getRunnerUserData();
+        float angle = runner.getAngle();
+        float cos = Math.abs(MathUtils.cos(angle));
+        float sin = Math.abs(MathUtils.sin(angle));
+        float halfWidth = (cos * userData.getWidth() + sin * userData.getHeight()) / 2;
+        float halfHeight = (sin * userData.getWidth() + cos * userData.getHeight()) / 2;
+        Vector2 position = runner.getPosition();
+        runnerBounds.set(position.x - halfWidth, position.y - halfHeight, halfWidth * 2,
+                halfHeight * 2);
+    }
+
+    private void spawnEnemy() {
+        EnemyType enemyType = RandomUtils.getRandomEnemyType(spawnRandom);
+
+        if (aabbEnemyPool != null) {
+            AabbEnemy enemy = aabbEnemyPool.obtain(enemyType);
+            enemy.getUserData().setLinearVelocity(difficulty.getEnemyLinearVelocity());
+            listener.onEnemySpawned(enemy.getUserData());
+            return;
+        }
+
+        Body body = enemyPool.obtain(enemyType);
+        EnemyUserData userData = (EnemyUserData) body.getUserData();
+        userData.setLinearVelocity(difficulty.getEnemyLinearVelocity());
+        // Kinematic bodies keep their velocity, so it only has to be set once per spawn
+        body.setLinearVelocity(userData.getLinearVelocity());
+        listener.onEnemySpawned(userData);
+    }
+
+    private void freeEnemy(Body body) {
+        enemyPool.free(body);
+        listener.onEnemyFreed((EnemyUserData) body.getUserData());
+    }
+
+    private void freeEnemy(AabbEnemy enemy) {
+        aabbEnemyPool.free(enemy);
+        listener.onEnemyFreed(enemy.getUserData());
+    }
+
+    private void updateDifficulty() {
+        if (difficulty.ordinal() == DIFFICULTIES.length - 1) {
+            return;
+        }
+
+        if (getElapsedTime() > difficulty.getLevel() * 5) {
+            difficulty = DIFFICULTIES[difficulty.ordinal() + 1];
+
+            if (runner != null) {
+                runner.setGravityScale(difficulty.getRunnerGravityScale());
+                runner.resetMassData();
+                getRunnerUserData().setJumpingLinearImpulse(difficulty.getRunnerJumpingLinearImpulse());
+            }
+
+            listener.onDifficultyChange(difficulty);
+        }
+    }
+
+    private void saveTransforms() {
+        Array<Body> bodies = bodyRegistry.getBodies();
+        for (int i = 0; i < bodies.size; i++) {
+            Body body = bodies.get(i);
+            ((UserData) body.getUserData()).saveTransform(body);
+        }
+
+        if (aabbEnemyPool != null) {
+            Array<AabbEnemy> enemies = aabbEnemyPool.getEnemies();
+            for (int i = 0; i < enemies.size; i++) {
+                enemies.get(i).saveTransform();
+            }
+        }
+    }
+
+    private void interpolateTransforms(float alpha) {
+        Array<Body> bodies = bodyRegistry.getBodies();
+        for (int i = 0; i < bodies.size; i++) {
+            Body body = bodies.get(i);
+            ((UserData) body.getUserData()).interpolate(body, alpha);
+        }
+
+        if (aabbEnemyPool != null) {
+            Array<AabbEnemy> enemies = aabbEnemyPool.getEnemies();
+            for (int i = 0; i < enemies.size; i++) {
+                enemies.get(i).interpolate(alpha);
+            }
+        }
+    }
+
+    @Override
+    public void beginContact(Contact contact) {
+
+        int pair = BodyUtils.getCategoryBits(contact.getFixtureA().getBody())
+                | BodyUtils.getCategoryBits(contact.getFixtureB().getBody());
+
+        switch (pair) {
+            case Constants.RUNNER_ENEMY_CONTACT:
+                contactEvents.push(GameEventType.RUNNER_HIT_ENEMY);
+                break;
+            case Constants.RUNNER_GROUND_CONTACT:
+                contactEvents.push(GameEventType.RUNNER_LANDED);
+                break;
+            default:
+                break;
+        }
+
+    }
+
+    /**
+     * Applies the contacts recorded during the last world step, now that the world is unlocked
+     */
+    private void processContactEvents() {
+        GameEvent event;
+        while ((event = contactEvents.poll()) != null) {
+            // The runner might have left the world since the contact was recorded
+            if (runner == null) {
+                continue;
+            }
+
+            switch (event.getType()) {
+                case RUNNER_HIT_ENEMY:
+                    if (!getRunnerUserData().isHit()) {
+                        hitRunner();
+                    }
+                    break;
+                case RUNNER_LANDED:
+                    getRunnerUserData().setJumping(false);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void hitRunner() {
+        RunnerUserData userData = getRunnerUserData();
+        runner.applyAngularImpulse(userData.getHitAngularImpulse(), true);
+        userData.setHit(true);
+        running = false;
+        listener.onRunnerHit();
+        listener.onGameOver(getScore(), userData.getJumpCount());
+    }
+
+    @Override
+    public void endContact(Contact contact) {
+
+    }
+
+    @Override
+    public void preSolve(Contact contact, Manifold oldManifold) {
+
+    }
+
+    @Override
+    public void postSolve(Contact contact, ContactImpulse impulse) {
+
+    }
+
+    /**
+     * @return whether a run is in progress, i.e. it has been started and the runner hasn't been hit
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void setInputSource(InputSource inputSource) {
+        this.inputSource = inputSource;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return a stream for purely visual randomness, which doesn't affect the spawn sequence
+     */
+    public GameRandom getCosmeticRandom() {
+        return cosmeticRandom;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * @return time spent running in the current run, in seconds
+     */
+    public float getElapsedTime() {
+        return tick * TIME_STEP;
+    }
+
+    public int getScore() {
+        return (int) Math.floor(score);
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public Body getRunner() {
+        return runner;
+    }
+
+    public RunnerUserData getRunnerUserData() {
+        return (RunnerUserData) runner.getUserData();
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    public BodyRegistry getBodyRegistry() {
+        return bodyRegistry;
+    }
+
+    public int getEnemyCount() {
+        return aabbEnemyPool != null ? aabbEnemyPool.getEnemies().size
+                : bodyRegistry.getEnemies().size;
+    }
+
+    /**
+     * Sets how many enemies are kept on screen at once. The game always uses one, more are only
+     * useful to measure how the simulation scales
+     */
+    public void setConcurrentEnemies(int concurrentEnemies) {
+        this.concurrentEnemies = concurrentEnemies;
+    }
+
+    public int getStepsLastFrame() {
+        return stepsLastFrame;
+    }
+
+    @Override
+    public void dispose() {
+        world.dispose();
+    }
+
+    /**
+     * A {@link SimulationListener} that ignores every event, for headless runs
+     */
+    public static class SimulationAdapter implements SimulationListener {
+
+        @Override
+        public void onEnemySpawned(EnemyUserData userData) {
+
+        }
+
+        @Override
+        public void onEnemyFreed(EnemyUserData userData) {
+
+        }
+
+        @Override
+        public void onRunnerJump() {
+
+        }
+
+        @Override
+        public void onRunnerHit() {
+
+        }
+
+        @Override
+        public void onDifficultyChange(Difficulty difficulty) {
+
+        }
+
+        @Override
+        public void onGameOver(int score, int jumpCount) {
+
+        }
+
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.simulation;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.stc.runner.enums.InputType;
+
+/**
+ * A decoded replay: the run's seed, every input with the tick it was applied on, and the tick and
+ * score the run ended with.
+ * <p/>
+ * The binary format is a 4 byte magic, a version byte and the seed as 8 big-endian bytes, followed
+ * by one varint per input holding the ticks since the previous input shifted left by 2, OR'ed with
+ * the {@link com.stc.runner.enums.InputType} ordinal. A varint with the low bits set to
+ * {@link #END_MARKER} closes the input list and is followed by the final tick and score as varints
+ */
+public class InputLog {
+
+    static final byte[] MAGIC = new byte[] {'M', 'R', 'P', 'L'};
+    static final int VERSION = 1;
+    static final int TYPE_BITS = 2;
+    static final int END_MARKER = 3;
+
+    private static final InputType[] INPUT_TYPES = InputType.values();
+
+    private final long seed;
+    private final IntArray ticks;
+    private final IntArray types;
+    private final int finalTick;
+    private final int finalScore;
+
+    private InputLog(long seed, IntArray ticks, IntArray types, int finalTick, int finalScore) {
+        this.seed = seed;
+        this.ticks = ticks;
+        this.types = types;
+        this.finalTick = finalTick;
+        this.finalScore = finalScore;
+    }
+
+    public static InputLog read(byte[] bytes) {
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (bytes.length <= i || bytes[i] != MAGIC[i]) {
+                throw new GdxRuntimeException("Not a replay file");
+            }
+        }
+
+        int[] position = new int[] {MAGIC.length};
+        int version = readVarInt(bytes, position);
+        if (version != VERSION) {
+            throw new GdxRuntimeException("Unsupported replay version " + version);
+        }
+
+        long seed = 0;
+        for (int i = 0; i < 8; i++) {
+            seed = (seed << 8) | (bytes[position[0]++] & 0xff);
+        }
+
+        IntArray ticks = new IntArray();
+        IntArray types = new IntArray();
+        int tick = 0;
+
+        while (true) {
+            int value = readVarInt(bytes, position);
+            int type = value & ((1 << TYPE_BITS) - 1);
+            if (type == END_MARKER) {
+                break;
+            }
+            tick += value >>> TYPE_BITS;
+            ticks.add(tick);
+            types.add(type);
+        }
+
+        int finalTick = readVarInt(bytes, position);
+        int finalScore = readVarInt(bytes, position);
+        return new InputLog(seed, ticks, types, finalTick, finalScore);
+    }
+
+    static int writeVarInt(byte[] bytes, int position, int value) {
+        while ((value & ~0x7f) != 0) {
+            bytes[position++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        bytes[position++] = (byte) value;
+        return position;
+    }
+
+    private static int readVarInt(byte[] bytes, int[] position) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (position[0] >= bytes.length) {
+                throw new GdxRuntimeException("Truncated replay file");
+            }
+            b = bytes[position[0]++];
+            value |= (b & 0x7f) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int size() {
+        return ticks.size;
+    }
+
+    public int getTick(int index) {
+        return ticks.get(index);
+    }
+
+    public InputType getType(int index) {
+        return INPUT_TYPES[types.get(index)];
+    }
+
+    public int getFinalTick() {
+        return finalTick;
+    }
+
+    public int getFinalScore() {
+        return finalScore;
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.simulation;
+
+import com.stc.runner.enums.InputType;
+
+/**
+ * Encodes the inputs of a run as they happen, in the format read by {@link InputLog}. The buffer
+ * is reused between runs, so recording doesn't allocate once it has grown to fit a typical run
+ */
+public class InputRecorder {
+
+    // A varint never takes more than 5 bytes
+    private static final int MAX_VAR_INT_SIZE = 5;
+
+    private byte[] buffer = new byte[256];
+    private int position;
+    private int lastTick;
+
+    public void begin(long seed) {
+        position = 0;
+        lastTick = 0;
+        ensureCapacity(InputLog.MAGIC.length + MAX_VAR_INT_SIZE + 8);
+
+        for (byte b : InputLog.MAGIC) {
+            buffer[position++] = b;
+        }
+        position = InputLog.writeVarInt(buffer, position, InputLog.VERSION);
+
+        for (int i = 7; i >= 0; i--) {
+            buffer[position++] = (byte) (seed >>> (i * 8));
+        }
+    }
+
+    /**
+     * @param tick the simulation tick the input is applied on, see {@link GameSimulation#getTick()}
+     */
+    public void record(int tick, InputType type) {
+        ensureCapacity(MAX_VAR_INT_SIZE);
+        position = InputLog.writeVarInt(buffer, position,
+                ((tick - lastTick) << InputLog.TYPE_BITS) | type.ordinal());
+        lastTick = tick;
+    }
+
+    /**
+     * Closes the log with the outcome of the run, so a replay can be checked against it
+     *
+     * @return the encoded log
+     */
+    public byte[] finish(int finalTick, int finalScore) {
+        ensureCapacity(MAX_VAR_INT_SIZE * 3);
+        position = InputLog.writeVarInt(buffer, position, InputLog.END_MARKER);
+        position = InputLog.writeVarInt(buffer, position, finalTick);
+        position = InputLog.writeVarInt(buffer, position, finalScore);
+
+        byte[] bytes = new byte[position];
+        System.arraycopy(buffer, 0, bytes, 0, position);
+        return bytes;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (position + additional > buffer.length) {
+            byte[] newBuffer = new byte[Math.max(buffer.length * 2, position + additional)];
+            System.arraycopy(buffer, 0, newBuffer, 0, position);
+            buffer = newBuffer;
+        }
+    }
+
+}
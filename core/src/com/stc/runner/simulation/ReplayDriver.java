@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.simulation;
+
+/**
+ * Plays an {@link InputLog} back through a {@link GameSimulation}, either in real time through
+ * {@link #update(float)} or as fast as possible through {@link #fastForward()}
+ */
+public class ReplayDriver implements GameSimulation.InputSource {
+
+    private final GameSimulation simulation;
+    private final InputLog log;
+    private int nextInput;
+
+    public ReplayDriver(GameSimulation simulation, InputLog log) {
+        this.simulation = simulation;
+        this.log = log;
+    }
+
+    public void start() {
+        nextInput = 0;
+        simulation.setInputSource(this);
+        simulation.startRun(log.getSeed());
+    }
+
+    public void update(float delta) {
+        simulation.update(delta);
+    }
+
+    /**
+     * Steps the simulation without any frame pacing until the run is over. A replay that diverged
+     * and never ends is stopped once it goes past the recorded final tick
+     */
+    public void fastForward() {
+        while (simulation.isRunning() && simulation.getTick() <= log.getFinalTick()) {
+            simulation.step();
+        }
+    }
+
+    /**
+     * @return whether the replayed run ended on the same tick and with the same score as recorded
+     */
+    public boolean matchesRecording() {
+        return !simulation.isRunning() && simulation.getTick() == log.getFinalTick()
+                && simulation.getScore() == log.getFinalScore();
+    }
+
+    @Override
+    public void applyInputs(GameSimulation simulation, int tick) {
+        while (nextInput < log.size() && log.getTick(nextInput) == tick) {
+            switch (log.getType(nextInput)) {
+                case JUMP:
+                    simulation.jump();
+                    break;
+                case DODGE:
+                    simulation.dodge();
+                    break;
+                case RELEASE:
+                    simulation.stopDodge();
+                    break;
+            }
+            nextInput++;
+        }
+    }
+
+    public GameSimulation getSimulation() {
+        return simulation;
+    }
+
+}
@@ -17,37 +17,57 @@
 package com.stc.runner.stages;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector3;
-import com.badlogic.gdx.physics.box2d.*;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
 import com.badlogic.gdx.scenes.scene2d.Stage;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
 import com.badlogic.gdx.utils.Scaling;
+import com.badlogic.gdx.utils.SnapshotArray;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.viewport.ScalingViewport;
 import com.stc.runner.actors.*;
 import com.stc.runner.actors.menu.*;
+import com.stc.runner.box2d.EnemyUserData;
 import com.stc.runner.enums.Difficulty;
+import com.stc.runner.enums.GameEventType;
 import com.stc.runner.enums.GameState;
+import com.stc.runner.enums.InputType;
+import com.stc.runner.simulation.EventQueue;
+import com.stc.runner.simulation.GameEvent;
+import com.stc.runner.simulation.GameSimulation;
+import com.stc.runner.simulation.InputRecorder;
 import com.stc.runner.utils.*;
 
-public class GameStage extends Stage implements ContactListener {
+public class GameStage extends Stage implements GameSimulation.SimulationListener {
 
     private static final int VIEWPORT_WIDTH = Constants.APP_WIDTH;
     private static final int VIEWPORT_HEIGHT = Constants.APP_HEIGHT;
 
-    private World world;
-    private Ground ground;
-    private Runner runner;
+    private static final int DEBUG_TAPS = 5;
+    private static final long DEBUG_TAP_WINDOW_MILLIS = 1500;
 
-    private final float TIME_STEP = 1 / 300f;
-    private float accumulator = 0f;
+    private GameSimulation simulation;
+    private final InputRecorder inputRecorder = new InputRecorder();
+    private final EventQueue gameEvents = new EventQueue(4);
+    private Runner runner;
+    private ObjectMap<EnemyUserData, Enemy> enemyActors;
 
     private OrthographicCamera camera;
 
     private Rectangle screenLeftSide;
     private Rectangle screenRightSide;
 
+    // Everything is created once and shown or hidden depending on the game state
+    private Group worldLayer;
+    private Group hudLayer;
+    private Group mainMenuLayer;
+    private Group runLayer;
+
     private SoundButton soundButton;
     private MusicButton musicButton;
     private PauseButton pauseButton;
@@ -56,41 +76,66 @@ public class GameStage extends Stage implements ContactListener {
     private AboutButton aboutButton;
     private ShareButton shareButton;
     private AchievementsButton achievementsButton;
+    private GameLabel gameLabel;
+    private AboutLabel aboutLabel;
+    private RunSummaryLabel runSummaryLabel;
 
     private Score score;
-    private float totalTimePassed;
     private boolean tutorialShown;
 
+    private final FrameProfiler profiler = new FrameProfiler();
+    private DebugOverlay debugOverlay;
+    private int debugTaps;
+    private long firstDebugTapTime;
+
     private Vector3 touchPoint;
 
     public GameStage() {
         super(new ScalingViewport(Scaling.stretch, VIEWPORT_WIDTH, VIEWPORT_HEIGHT,
-                new OrthographicCamera(VIEWPORT_WIDTH, VIEWPORT_HEIGHT)));
+                new OrthographicCamera(VIEWPORT_WIDTH, VIEWPORT_HEIGHT)), new SpriteBatch());
         setUpCamera();
-        setUpStageBase();
+        setUpLayers();
+        setUpWorld();
+        setUpFixedMenu();
         setUpGameLabel();
+        setUpAboutText();
         setUpMainMenu();
+        setUpRunMenu();
         setUpTouchControlAreas();
         Gdx.input.setInputProcessor(this);
-        AudioUtils.getInstance().init();
         onGameOver();
     }
 
-    private void setUpStageBase() {
-        setUpWorld();
-        setUpFixedMenu();
+    /**
+     * The layers don't apply a transform, so their children are drawn straight into the stage's
+     * batch
+     */
+    private void setUpLayers() {
+        worldLayer = createLayer();
+        hudLayer = createLayer();
+        mainMenuLayer = createLayer();
+        runLayer = createLayer();
+    }
+
+    private Group createLayer() {
+        Group layer = new Group();
+        layer.setTransform(false);
+        addActor(layer);
+        return layer;
     }
 
     private void setUpGameLabel() {
         Rectangle gameLabelBounds = new Rectangle(0, getCamera().viewportHeight * 7 / 8,
                 getCamera().viewportWidth, getCamera().viewportHeight / 4);
-        addActor(new GameLabel(gameLabelBounds));
+        gameLabel = new GameLabel(gameLabelBounds);
+        hudLayer.addActor(gameLabel);
     }
 
     private void setUpAboutText() {
         Rectangle gameLabelBounds = new Rectangle(0, getCamera().viewportHeight * 5 / 8,
                 getCamera().viewportWidth, getCamera().viewportHeight / 4);
-        addActor(new AboutLabel(gameLabelBounds));
+        aboutLabel = new AboutLabel(gameLabelBounds);
+        hudLayer.addActor(aboutLabel);
     }
 
     /**
@@ -100,6 +145,8 @@ public class GameStage extends Stage implements ContactListener {
         setUpSound();
         setUpMusic();
         setUpScore();
+        setUpAbout();
+        setUpDebugOverlay();
     }
 
     private void setUpSound() {
@@ -107,7 +154,7 @@ public class GameStage extends Stage implements ContactListener {
                 getCamera().viewportHeight * 13 / 20, getCamera().viewportHeight / 10,
                 getCamera().viewportHeight / 10);
         soundButton = new SoundButton(soundButtonBounds);
-        addActor(soundButton);
+        hudLayer.addActor(soundButton);
     }
 
     private void setUpMusic() {
@@ -115,15 +162,64 @@ public class GameStage extends Stage implements ContactListener {
                 getCamera().viewportHeight * 4 / 5, getCamera().viewportHeight / 10,
                 getCamera().viewportHeight / 10);
         musicButton = new MusicButton(musicButtonBounds);
-        addActor(musicButton);
+        hudLayer.addActor(musicButton);
     }
 
     private void setUpScore() {
         Rectangle scoreBounds = new Rectangle(getCamera().viewportWidth * 47 / 64,
                 getCamera().viewportHeight * 57 / 64, getCamera().viewportWidth / 4,
                 getCamera().viewportHeight / 8);
-        score = new Score(scoreBounds);
-        addActor(score);
+        score = new Score(scoreBounds, simulation);
+        hudLayer.addActor(score);
+    }
+
+    /**
+     * Hidden unless enabled from the launcher. Tapping the score quickly a few times, or F3 on
+     * desktop, cycles between hidden, shown and shown while tracing
+     */
+    private void setUpDebugOverlay() {
+        Rectangle debugOverlayBounds = new Rectangle(getCamera().viewportWidth / 64,
+                getCamera().viewportHeight / 32, getCamera().viewportWidth / 2,
+                getCamera().viewportHeight / 4);
+        debugOverlay = new DebugOverlay(debugOverlayBounds, profiler);
+        debugOverlay.setVisible(GameManager.getInstance().isDebugOverlayEnabled());
+        hudLayer.addActor(debugOverlay);
+
+        if (GameManager.getInstance().isFrameTraceEnabled()) {
+            profiler.startTrace(Gdx.files.local(Constants.FRAME_TRACE_PATH));
+        }
+    }
+
+    private void cycleDebugOverlay() {
+        if (!debugOverlay.isVisible()) {
+            debugOverlay.setVisible(true);
+        } else if (!profiler.isTracing()) {
+            profiler.startTrace(Gdx.files.local(Constants.FRAME_TRACE_PATH));
+        } else {
+            profiler.stopTrace();
+            debugOverlay.setVisible(false);
+        }
+    }
+
+    private void onScoreTapped() {
+        long now = TimeUtils.millis();
+        if (now - firstDebugTapTime > DEBUG_TAP_WINDOW_MILLIS) {
+            firstDebugTapTime = now;
+            debugTaps = 0;
+        }
+
+        if (++debugTaps == DEBUG_TAPS) {
+            debugTaps = 0;
+            cycleDebugOverlay();
+        }
+    }
+
+    /**
+     * These controls are only displayed while running or paused
+     */
+    private void setUpRunMenu() {
+        setUpPause();
+        setUpPauseLabel();
     }
 
     private void setUpPause() {
@@ -131,7 +227,7 @@ public class GameStage extends Stage implements ContactListener {
                 getCamera().viewportHeight * 1 / 2, getCamera().viewportHeight / 10,
                 getCamera().viewportHeight / 10);
         pauseButton = new PauseButton(pauseButtonBounds, new GamePauseButtonListener());
-        addActor(pauseButton);
+        runLayer.addActor(pauseButton);
     }
 
     /**
@@ -140,9 +236,18 @@ public class GameStage extends Stage implements ContactListener {
     private void setUpMainMenu() {
         setUpStart();
         setUpLeaderboard();
-        setUpAbout();
         setUpShare();
         setUpAchievements();
+        setUpRunSummary();
+    }
+
+    private void setUpRunSummary() {
+        // Between the audio buttons and the score, where the title is before the first run
+        Rectangle runSummaryBounds = new Rectangle(getCamera().viewportWidth / 4,
+                getCamera().viewportHeight * 7 / 8, getCamera().viewportWidth / 2,
+                getCamera().viewportHeight / 4);
+        runSummaryLabel = new RunSummaryLabel(runSummaryBounds);
+        mainMenuLayer.addActor(runSummaryLabel);
     }
 
     private void setUpStart() {
@@ -150,7 +255,7 @@ public class GameStage extends Stage implements ContactListener {
                 getCamera().viewportHeight / 4, getCamera().viewportWidth / 4,
                 getCamera().viewportWidth / 4);
         startButton = new StartButton(startButtonBounds, new GameStartButtonListener());
-        addActor(startButton);
+        mainMenuLayer.addActor(startButton);
     }
 
     private void setUpLeaderboard() {
@@ -159,7 +264,7 @@ public class GameStage extends Stage implements ContactListener {
                 getCamera().viewportWidth / 4);
         leaderboardButton = new LeaderboardButton(leaderboardButtonBounds,
                 new GameLeaderboardButtonListener());
-        addActor(leaderboardButton);
+        mainMenuLayer.addActor(leaderboardButton);
     }
 
     private void setUpAbout() {
@@ -167,7 +272,7 @@ public class GameStage extends Stage implements ContactListener {
                 getCamera().viewportHeight * 13 / 20, getCamera().viewportHeight / 10,
                 getCamera().viewportHeight / 10);
         aboutButton = new AboutButton(aboutButtonBounds, new GameAboutButtonListener());
-        addActor(aboutButton);
+        hudLayer.addActor(aboutButton);
     }
 
     private void setUpShare() {
@@ -175,7 +280,7 @@ public class GameStage extends Stage implements ContactListener {
                 getCamera().viewportHeight / 2, getCamera().viewportHeight / 10,
                 getCamera().viewportHeight / 10);
         shareButton = new ShareButton(shareButtonBounds, new GameShareButtonListener());
-        addActor(shareButton);
+        mainMenuLayer.addActor(shareButton);
     }
 
     private void setUpAchievements() {
@@ -184,37 +289,41 @@ public class GameStage extends Stage implements ContactListener {
                 getCamera().viewportHeight / 10);
         achievementsButton = new AchievementsButton(achievementsButtonBounds,
                 new GameAchievementsButtonListener());
-        addActor(achievementsButton);
+        mainMenuLayer.addActor(achievementsButton);
     }
 
+    /**
+     * The world lives as long as the stage and is reset between runs
+     */
     private void setUpWorld() {
-        world = WorldUtils.createWorld();
-        world.setContactListener(this);
+        simulation = new GameSimulation(this);
+        enemyActors = new ObjectMap<EnemyUserData, Enemy>();
         setUpBackground();
         setUpGround();
     }
 
     private void setUpBackground() {
-        addActor(new Background());
+        worldLayer.addActor(new ParallaxBackground());
     }
 
     private void setUpGround() {
-        ground = new Ground(WorldUtils.createGround(world));
-        addActor(ground);
+        worldLayer.addActor(new Ground(simulation.getBodyRegistry().getGround()));
     }
 
     private void setUpCharacters() {
+        long seed = RandomUtils.createSeed();
+        simulation.startRun(seed);
+        inputRecorder.begin(seed);
         setUpRunner();
-        setUpPauseLabel();
-        createEnemy();
     }
 
     private void setUpRunner() {
-        if (runner != null) {
-            runner.remove();
+        if (runner == null) {
+            runner = new Runner(simulation.getRunner());
+        } else {
+            runner.setBody(simulation.getRunner());
         }
-        runner = new Runner(WorldUtils.createRunner(world));
-        addActor(runner);
+        worldLayer.addActor(runner);
     }
 
     private void setUpCamera() {
@@ -234,7 +343,7 @@ public class GameStage extends Stage implements ContactListener {
     private void setUpPauseLabel() {
         Rectangle pauseLabelBounds = new Rectangle(0, getCamera().viewportHeight * 7 / 8,
                 getCamera().viewportWidth, getCamera().viewportHeight / 4);
-        addActor(new PausedLabel(pauseLabelBounds));
+        runLayer.addActor(new PausedLabel(pauseLabelBounds));
     }
 
     private void setUpTutorial() {
@@ -251,7 +360,7 @@ public class GameStage extends Stage implements ContactListener {
         float x = getCamera().viewportWidth / 4 - width / 2;
         Rectangle leftTutorialBounds = new Rectangle(x, getCamera().viewportHeight * 9 / 20, width,
                 width);
-        addActor(new Tutorial(leftTutorialBounds, Constants.TUTORIAL_LEFT_REGION_NAME,
+        runLayer.addActor(new Tutorial(leftTutorialBounds, Constants.TUTORIAL_LEFT_REGION_NAME,
                 Constants.TUTORIAL_LEFT_TEXT));
     }
 
@@ -260,54 +369,157 @@ public class GameStage extends Stage implements ContactListener {
         float x = getCamera().viewportWidth * 3 / 4 - width / 2;
         Rectangle rightTutorialBounds = new Rectangle(x, getCamera().viewportHeight * 9 / 20, width,
                 width);
-        addActor(new Tutorial(rightTutorialBounds, Constants.TUTORIAL_RIGHT_REGION_NAME,
+        runLayer.addActor(new Tutorial(rightTutorialBounds, Constants.TUTORIAL_RIGHT_REGION_NAME,
                 Constants.TUTORIAL_RIGHT_TEXT));
     }
 
+    @Override
+    public void draw() {
+        profiler.beginFrame();
+        super.draw();
+    }
+
     @Override
     public void act(float delta) {
+        if (GameManager.getInstance().getGameState() != GameState.PAUSED) {
+            simulation.update(delta);
+        }
+
+        processGameEvents();
+
+        // Actors read the interpolated transforms, so they're updated after the simulation
         super.act(delta);
 
-        if (GameManager.getInstance().getGameState() == GameState.PAUSED) return;
+        if (debugOverlay.isVisible() || profiler.isTracing()) {
+            profileFrame(delta);
+        }
+    }
 
-        if (GameManager.getInstance().getGameState() == GameState.RUNNING) {
-            totalTimePassed += delta;
-            updateDifficulty();
+    /**
+     * The stage acts after it's drawn, so the batch still holds the counts of this frame
+     */
+    private void profileFrame(float delta) {
+        int steps = simulation.getStepsLastFrame();
+        int renderCalls = ((SpriteBatch) getBatch()).renderCalls;
+        int bodies = simulation.getWorld().getBodyCount();
+        int actors = countActors(getRoot());
+        profiler.endFrame(delta, steps, renderCalls, bodies, actors);
+        debugOverlay.setFrameCounts(steps, renderCalls, bodies, actors);
+    }
+
+    private int countActors(Group group) {
+        SnapshotArray<Actor> children = group.getChildren();
+        int count = children.size;
+        for (int i = 0; i < children.size; i++) {
+            Actor child = children.get(i);
+            if (child instanceof Group) {
+                count += countActors((Group) child);
+            }
         }
+        return count;
+    }
 
-        Array<Body> bodies = new Array<Body>(world.getBodyCount());
-        world.getBodies(bodies);
+    @Override
+    public boolean keyDown(int keyCode) {
+        if (keyCode == Input.Keys.F3) {
+            cycleDebugOverlay();
+            return true;
+        }
+        return super.keyDown(keyCode);
+    }
 
-        for (Body body : bodies) {
-            update(body);
+    @Override
+    public void onEnemySpawned(EnemyUserData userData) {
+        // Pooled enemies keep their actor, so both get reused together
+        Enemy enemy = enemyActors.get(userData);
+        if (enemy == null) {
+            enemy = new Enemy(userData);
+            enemyActors.put(userData, enemy);
+        } else {
+            enemy.reset();
         }
+        // Start the animation at a random frame so enemies don't all move in lockstep
+        enemy.setStateTime(simulation.getCosmeticRandom().nextFloat());
+        worldLayer.addActor(enemy);
+    }
 
-        // Fixed timestep
-        accumulator += delta;
+    @Override
+    public void onEnemyFreed(EnemyUserData userData) {
+        enemyActors.get(userData).remove();
+    }
 
-        while (accumulator >= delta) {
-            world.step(TIME_STEP, 6, 2);
-            accumulator -= TIME_STEP;
-        }
+    @Override
+    public void onRunnerJump() {
+        AudioUtils.getInstance().playSound(AudioUtils.getInstance().getJumpSound());
+    }
 
-        //TODO: Implement interpolation
+    @Override
+    public void onRunnerHit() {
+        AudioUtils.getInstance().playSound(AudioUtils.getInstance().getHitSound());
+    }
 
+    @Override
+    public void onDifficultyChange(Difficulty difficulty) {
+        GameManager.getInstance().setDifficulty(difficulty);
+        displayAd();
     }
 
-    private void update(Body body) {
-        if (!BodyUtils.bodyInBounds(body)) {
-            if (BodyUtils.bodyIsEnemy(body) && !runner.isHit()) {
-                createEnemy();
+    @Override
+    public void onGameOver(int score, int jumpCount) {
+        // Handled once the frame's steps are done, see processGameEvents()
+        gameEvents.push(GameEventType.GAME_OVER, score, jumpCount);
+    }
+
+    private void processGameEvents() {
+        GameEvent event;
+        while ((event = gameEvents.poll()) != null) {
+            switch (event.getType()) {
+                case GAME_OVER:
+                    onRunFinished(event.getScore(), event.getJumpCount());
+                    break;
+                default:
+                    break;
             }
-            world.destroyBody(body);
         }
     }
 
-    private void createEnemy() {
-        Enemy enemy = new Enemy(WorldUtils.createEnemy(world));
-        enemy.getUserData().setLinearVelocity(
-                GameManager.getInstance().getDifficulty().getEnemyLinearVelocity());
-        addActor(enemy);
+    /**
+     * The menu and the ad have to be set up on this thread, everything else is persistence and
+     * platform work that can happen in the background
+     */
+    private void onRunFinished(final int score, final int jumpCount) {
+        // Seeds are random per run, so they double as run ids
+        final long runId = simulation.getSeed();
+        final RunRecord run = new RunRecord(runId, TimeUtils.millis(), score,
+                (int) (simulation.getElapsedTime() * 1000), jumpCount, simulation.getDifficulty());
+        runSummaryLabel.setSummary(null);
+        final byte[] replay = inputRecorder.finish(simulation.getTick(), score);
+        long start = TimeUtils.nanoTime();
+        displayAd();
+        onGameOver();
+        Gdx.app.debug(GameStage.class.getSimpleName(), "Game over transition took "
+                + (TimeUtils.nanoTime() - start) / 1000 + " us");
+
+        GameManager.getInstance().runInBackground(new Runnable() {
+            @Override
+            public void run() {
+                Gdx.files.local(Constants.LAST_RUN_REPLAY_PATH).writeBytes(replay, false);
+                final LocalLeaderboard.Summary summary = GameManager.getInstance()
+                        .getLocalLeaderboard().record(run, Constants.LOCAL_TOP_SCORES);
+                Gdx.app.postRunnable(new Runnable() {
+                    @Override
+                    public void run() {
+                        runSummaryLabel.setSummary(summary);
+                    }
+                });
+                GameManager.getInstance().submitScore(runId, score);
+                GameManager.getInstance().addGamePlayed();
+                GameManager.getInstance().addJumpCount(jumpCount);
+                GameManager.getInstance().flushAchievements();
+                // The achievement bookkeeping above only updated the stats in memory
+                GameManager.getInstance().getPlayerStats().save();
+            }
+        });
     }
 
     @Override
@@ -316,6 +528,10 @@ public class GameStage extends Stage implements ContactListener {
         // Need to get the actual coordinates
         translateScreenToWorldCoordinates(x, y);
 
+        if (score.getBounds().contains(touchPoint.x, touchPoint.y)) {
+            onScoreTapped();
+        }
+
         // If a menu control was touched ignore the rest
         if (menuControlTouched(touchPoint.x, touchPoint.y)) {
             return super.touchDown(x, y, pointer, button);
@@ -326,9 +542,11 @@ public class GameStage extends Stage implements ContactListener {
         }
 
         if (rightSideTouched(touchPoint.x, touchPoint.y)) {
-            runner.jump();
+            inputRecorder.record(simulation.getTick(), InputType.JUMP);
+            simulation.jump();
         } else if (leftSideTouched(touchPoint.x, touchPoint.y)) {
-            runner.dodge();
+            inputRecorder.record(simulation.getTick(), InputType.DODGE);
+            simulation.dodge();
         }
 
         return super.touchDown(x, y, pointer, button);
@@ -341,9 +559,8 @@ public class GameStage extends Stage implements ContactListener {
             return super.touchUp(screenX, screenY, pointer, button);
         }
 
-        if (runner.isDodging()) {
-            runner.stopDodge();
-        }
+        inputRecorder.record(simulation.getTick(), InputType.RELEASE);
+        simulation.stopDodge();
 
         return super.touchUp(screenX, screenY, pointer, button);
     }
@@ -385,71 +602,10 @@ public class GameStage extends Stage implements ContactListener {
         getCamera().unproject(touchPoint.set(x, y, 0));
     }
 
-    @Override
-    public void beginContact(Contact contact) {
-
-        Body a = contact.getFixtureA().getBody();
-        Body b = contact.getFixtureB().getBody();
-
-        if ((BodyUtils.bodyIsRunner(a) && BodyUtils.bodyIsEnemy(b)) ||
-                (BodyUtils.bodyIsEnemy(a) && BodyUtils.bodyIsRunner(b))) {
-            if (runner.isHit()) {
-                return;
-            }
-            runner.hit();
-            displayAd();
-            GameManager.getInstance().submitScore(score.getScore());
-            onGameOver();
-            GameManager.getInstance().addGamePlayed();
-            GameManager.getInstance().addJumpCount(runner.getJumpCount());
-        } else if ((BodyUtils.bodyIsRunner(a) && BodyUtils.bodyIsGround(b)) ||
-                (BodyUtils.bodyIsGround(a) && BodyUtils.bodyIsRunner(b))) {
-            runner.landed();
-        }
-
-    }
-
-    private void updateDifficulty() {
-
-        if (GameManager.getInstance().isMaxDifficulty()) {
-            return;
-        }
-
-        Difficulty currentDifficulty = GameManager.getInstance().getDifficulty();
-
-        if (totalTimePassed > GameManager.getInstance().getDifficulty().getLevel() * 5) {
-
-            int nextDifficulty = currentDifficulty.getLevel() + 1;
-            String difficultyName = "DIFFICULTY_" + nextDifficulty;
-            GameManager.getInstance().setDifficulty(Difficulty.valueOf(difficultyName));
-
-            runner.onDifficultyChange(GameManager.getInstance().getDifficulty());
-            score.setMultiplier(GameManager.getInstance().getDifficulty().getScoreMultiplier());
-
-            displayAd();
-        }
-
-    }
-
     private void displayAd() {
         GameManager.getInstance().displayAd();
     }
 
-    @Override
-    public void endContact(Contact contact) {
-
-    }
-
-    @Override
-    public void preSolve(Contact contact, Manifold oldManifold) {
-
-    }
-
-    @Override
-    public void postSolve(Contact contact, ContactImpulse impulse) {
-
-    }
-
     private class GamePauseButtonListener implements PauseButton.PauseButtonListener {
 
         @Override
@@ -468,10 +624,8 @@ public class GameStage extends Stage implements ContactListener {
 
         @Override
         public void onStart() {
-            clear();
-            setUpStageBase();
+            gameLabel.setVisible(false);
             setUpCharacters();
-            setUpPause();
             setUpTutorial();
             onGameResumed();
         }
@@ -495,9 +649,6 @@ public class GameStage extends Stage implements ContactListener {
             if (GameManager.getInstance().getGameState() == GameState.OVER) {
                 onGameAbout();
             } else {
-                clear();
-                setUpStageBase();
-                setUpGameLabel();
                 onGameOver();
             }
         }
@@ -524,27 +675,47 @@ public class GameStage extends Stage implements ContactListener {
     }
 
     private void onGamePaused() {
-        GameManager.getInstance().setGameState(GameState.PAUSED);
+        setGameState(GameState.PAUSED);
     }
 
     private void onGameResumed() {
-        GameManager.getInstance().setGameState(GameState.RUNNING);
+        setGameState(GameState.RUNNING);
     }
 
     private void onGameOver() {
-        GameManager.getInstance().setGameState(GameState.OVER);
+        setGameState(GameState.OVER);
         GameManager.getInstance().resetDifficulty();
-        totalTimePassed = 0;
-        setUpMainMenu();
     }
 
+    /**
+     * The about screen shows an empty world, like the one the game starts with
+     */
     private void onGameAbout() {
-        GameManager.getInstance().setGameState(GameState.ABOUT);
-        clear();
-        setUpStageBase();
-        setUpGameLabel();
-        setUpAboutText();
-        setUpAbout();
+        simulation.reset();
+        // The title takes its place from now on
+        runSummaryLabel.setSummary(null);
+        if (runner != null) {
+            runner.remove();
+        }
+        gameLabel.setVisible(true);
+        setGameState(GameState.ABOUT);
+    }
+
+    private void setGameState(GameState gameState) {
+        GameManager.getInstance().setGameState(gameState);
+        mainMenuLayer.setVisible(gameState == GameState.OVER);
+        runLayer.setVisible(gameState == GameState.RUNNING || gameState == GameState.PAUSED);
+        aboutButton.setVisible(gameState == GameState.OVER || gameState == GameState.ABOUT);
+        aboutLabel.setVisible(gameState == GameState.ABOUT);
+    }
+
+    @Override
+    public void dispose() {
+        profiler.stopTrace();
+        super.dispose();
+        // The stage doesn't own a batch it was given
+        getBatch().dispose();
+        simulation.dispose();
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.utils;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.Timer;
+
+/**
+ * Holds achievement unlocks and increments until the platform takes them. Increments to the same
+ * achievement are merged, so a flush makes one call per achievement however many runs it covers.
+ * A flush the platform refuses, i.e. while signed out, is retried with a growing delay.
+ * <p/>
+ * Confined to the background executor
+ */
+public class AchievementBatcher {
+
+    // Seconds
+    private static final float FIRST_RETRY_DELAY = 2f;
+    private static final float MAX_RETRY_DELAY = 300f;
+
+    private final GameEventListener listener;
+    private final Array<String> pendingUnlocks = new Array<String>();
+    private final ObjectIntMap<String> pendingIncrements = new ObjectIntMap<String>();
+    private float retryDelay = FIRST_RETRY_DELAY;
+
+    private final Timer.Task retryTask = new Timer.Task() {
+        @Override
+        public void run() {
+            GameManager.getInstance().runInBackground(new Runnable() {
+                @Override
+                public void run() {
+                    flush();
+                }
+            });
+        }
+    };
+
+    public AchievementBatcher(GameEventListener listener) {
+        this.listener = listener;
+    }
+
+    public void unlock(String id) {
+        if (!pendingUnlocks.contains(id, false)) {
+            pendingUnlocks.add(id);
+        }
+    }
+
+    public boolean isUnlockPending(String id) {
+        return pendingUnlocks.contains(id, false);
+    }
+
+    public void increment(String id, int steps) {
+        pendingIncrements.getAndIncrement(id, 0, steps);
+    }
+
+    public int getPendingSteps(String id) {
+        return pendingIncrements.get(id, 0);
+    }
+
+    /**
+     * Sends everything pending. Stops at the first call the platform doesn't take and tries again
+     * later, sooner if flushed again in the meantime, i.e. on sign in. The platform records what it
+     * took in the {@link PlayerStats}, so they're saved after anything was sent
+     */
+    public void flush() {
+        retryTask.cancel();
+
+        boolean sent = false;
+        boolean refused = false;
+        while (!refused && pendingUnlocks.size > 0) {
+            if (listener.unlockAchievement(pendingUnlocks.first())) {
+                pendingUnlocks.removeIndex(0);
+                sent = true;
+            } else {
+                refused = true;
+            }
+        }
+
+        ObjectIntMap.Keys<String> ids = pendingIncrements.keys();
+        while (!refused && ids.hasNext()) {
+            String id = ids.next();
+            if (listener.incrementAchievement(id, pendingIncrements.get(id, 0))) {
+                ids.remove();
+                sent = true;
+            } else {
+                refused = true;
+            }
+        }
+
+        if (sent) {
+            GameManager.getInstance().saveStats();
+        }
+        if (refused) {
+            scheduleRetry();
+        } else {
+            retryDelay = FIRST_RETRY_DELAY;
+        }
+    }
+
+    private void scheduleRetry() {
+        Timer.schedule(retryTask, retryDelay);
+        retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY);
+    }
+
+}
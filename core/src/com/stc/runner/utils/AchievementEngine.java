@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Json;
+import com.stc.runner.enums.AchievementCounter;
+
+/**
+ * Evaluates the {@link AchievementRules} as the counters of a run change. Each change only
+ * evaluates the rules watching that counter, and works out of the {@link PlayerStats} in memory.
+ * What the rules unlock and increment is handed to an {@link AchievementBatcher}, which sends it
+ * to the platform.
+ * <p/>
+ * Confined to the background executor, except for loading at startup
+ */
+public class AchievementEngine {
+
+    private final PlayerStats playerStats;
+    private final AchievementBatcher batcher;
+    // Rules watching each counter, by ordinal
+    private final Array<Array<AchievementRules.Rule>> subscribers;
+    private final int[] counters = new int[AchievementCounter.values().length];
+    private final Array<String> achievementIds = new Array<String>();
+
+    public AchievementEngine(PlayerStats playerStats, AchievementBatcher batcher) {
+        this.playerStats = playerStats;
+        this.batcher = batcher;
+        subscribers = new Array<Array<AchievementRules.Rule>>(counters.length);
+        for (int i = 0; i < counters.length; i++) {
+            subscribers.add(new Array<AchievementRules.Rule>());
+        }
+    }
+
+    /**
+     * Reads the rules and resolves their IDs. Rules without an ID on this platform are left out
+     */
+    public void load(FileHandle rulesFile, GameEventListener listener) {
+        AchievementRules rules = new Json().fromJson(AchievementRules.class, rulesFile);
+        for (AchievementRules.Rule rule : rules.rules) {
+            rule.id = listener.getAchievementId(rule.achievement);
+            if (rule.id == null || rule.id.length() == 0) {
+                Gdx.app.debug(AchievementEngine.class.getSimpleName(), "No ID for "
+                        + rule.achievement);
+                continue;
+            }
+            subscribers.get(rule.counter.ordinal()).add(rule);
+            achievementIds.add(rule.id);
+        }
+    }
+
+    /**
+     * @return the IDs of every rule that was loaded
+     */
+    public String[] getAchievementIds() {
+        String[] ids = new String[achievementIds.size];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = achievementIds.get(i);
+        }
+        return ids;
+    }
+
+    /**
+     * Adds to a counter of the current run and evaluates the rules watching it
+     */
+    public void add(AchievementCounter counter, int delta) {
+        if (delta <= 0) {
+            return;
+        }
+
+        counters[counter.ordinal()] += delta;
+        int value = counters[counter.ordinal()];
+        Array<AchievementRules.Rule> rules = subscribers.get(counter.ordinal());
+        for (int i = 0; i < rules.size; i++) {
+            AchievementRules.Rule rule = rules.get(i);
+            switch (rule.type) {
+                case UNLOCK:
+                    if (value > rule.threshold && !playerStats.isAchievementUnlocked(rule.id)
+                            && !batcher.isUnlockPending(rule.id)) {
+                        batcher.unlock(rule.id);
+                    }
+                    break;
+                case INCREMENT:
+                    // Steps still waiting to be sent count as progress already
+                    int steps = Math.min(delta, rule.threshold
+                            - playerStats.getAchievementCount(rule.id)
+                            - batcher.getPendingSteps(rule.id));
+                    if (steps > 0) {
+                        batcher.increment(rule.id, steps);
+                    }
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Starts the counters over for the next run
+     */
+    public void endRun() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = 0;
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.utils;
+
+import com.stc.runner.enums.AchievementCounter;
+import com.stc.runner.enums.AchievementRuleType;
+
+/**
+ * The achievement rules, read from {@link Constants#ACHIEVEMENT_RULES_PATH}
+ */
+public class AchievementRules {
+
+    public Rule[] rules;
+
+    public static class Rule {
+
+        // Passed to GameEventListener#getAchievementId to get the platform's ID
+        public String achievement;
+        public AchievementCounter counter;
+        public AchievementRuleType type;
+        // Value to go past for UNLOCK rules, total steps of the achievement for INCREMENT rules
+        public int threshold;
+
+        // Resolved by AchievementEngine when the rules are loaded
+        public transient String id;
+
+    }
+
+}
@@ -17,39 +17,188 @@
 package com.stc.runner.utils;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.scenes.scene2d.ui.Button;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.Json;
 
 import java.util.HashMap;
 
+/**
+ * Loads the game's assets a little every frame so the loading screen keeps rendering. The atlas
+ * and the fonts are needed for the first frame of the game, so they come first, and the audio
+ * keeps streaming in while the main menu is already up. Fonts are loaded from the ones baked by
+ * desktop:bakeFonts, and only generated with FreeType when those are missing or stale
+ */
 public class AssetsManager {
 
+    // Steps done on the render thread once the atlas is loaded, one per frame. The regions are
+    // set up first, then each font in Constants.FONT_SIZES
+    private static final int GRAPHICS_STEPS = 1 + Constants.FONT_SIZES.length;
+
+    private static AssetManager assetManager;
+    private static int graphicsStep;
+    private static FreeTypeFontGenerator fontGenerator;
+    // Null for the sizes that have to be generated
+    private static String[] bakedFontPaths = new String[Constants.FONT_SIZES.length];
+    private static BitmapFont[] fonts = new BitmapFont[Constants.FONT_SIZES.length];
+
     private static HashMap<String, TextureRegion> texturesMap = new HashMap<String, TextureRegion>();
     private static HashMap<String, Animation> animationsMap = new HashMap<String, Animation>();
     private static TextureAtlas textureAtlas;
-    private static BitmapFont smallFont;
-    private static BitmapFont smallestFont;
-    private static BitmapFont largeFont;
+    private static ParallaxConfig parallaxConfig;
+    private static Skin skin;
 
     private AssetsManager() {
 
     }
 
-    public static void loadAssets() {
+    /**
+     * Queues everything in the order it's needed. Nothing is loaded until {@link #update(int)} is
+     * called
+     */
+    public static void queueAssets() {
+        assetManager = new AssetManager();
+        graphicsStep = 0;
+        assetManager.load(Constants.SPRITES_ATLAS_PATH, TextureAtlas.class);
+        queueBakedFonts();
+        assetManager.load(Constants.RUNNER_JUMPING_SOUND, Sound.class);
+        assetManager.load(Constants.RUNNER_HIT_SOUND, Sound.class);
+        assetManager.load(Constants.GAME_MUSIC, Music.class);
+    }
+
+    /**
+     * Queues the baked fonts that still match the TTF. Checking means reading the TTF, which is
+     * far cheaper than rasterising it
+     */
+    private static void queueBakedFonts() {
+        FileHandle manifestFile = Gdx.files.internal(Constants.FONT_MANIFEST_PATH);
+        if (!manifestFile.exists()) {
+            Gdx.app.log(AssetsManager.class.getSimpleName(),
+                    "No baked fonts, run desktop:bakeFonts to skip generating them");
+            return;
+        }
+
+        FontManifest manifest = new Json().fromJson(FontManifest.class, manifestFile);
+        byte[] ttf = Gdx.files.internal(Constants.FONT_NAME).readBytes();
+        for (int i = 0; i < Constants.FONT_SIZES.length; i++) {
+            int size = Constants.FONT_SIZES[i];
+            FontManifest.Entry entry = manifest.findEntry(size,
+                    FontManifest.computeChecksum(ttf, size));
+            if (entry == null) {
+                Gdx.app.log(AssetsManager.class.getSimpleName(), "Baked font for size " + size
+                        + " is stale, generating it instead");
+            } else {
+                bakedFontPaths[i] = entry.file;
+                assetManager.load(entry.file, BitmapFont.class);
+            }
+        }
+    }
+
+    /**
+     * Loads for roughly the given time. Fonts that weren't baked can't go through the asset
+     * manager, so they are generated on the render thread one per call once the atlas is in
+     *
+     * @return true once everything is loaded
+     */
+    public static boolean update(int millis) {
+        boolean queueLoaded = assetManager.update(millis);
+
+        if (!isGraphicsLoaded() && assetManager.isLoaded(Constants.SPRITES_ATLAS_PATH)
+                && isGraphicsStepReady()) {
+            loadGraphicsStep();
+        }
+
+        return queueLoaded && isGraphicsLoaded();
+    }
+
+    /**
+     * @return true once the game can be drawn, the audio may still be loading
+     */
+    public static boolean isGraphicsLoaded() {
+        return graphicsStep == GRAPHICS_STEPS;
+    }
+
+    public static boolean isAudioLoaded() {
+        return assetManager.isLoaded(Constants.GAME_MUSIC)
+                && assetManager.isLoaded(Constants.RUNNER_JUMPING_SOUND)
+                && assetManager.isLoaded(Constants.RUNNER_HIT_SOUND);
+    }
+
+    public static float getProgress() {
+        return (assetManager.getProgress() + graphicsStep / (float) GRAPHICS_STEPS) / 2;
+    }
+
+    /**
+     * A baked font step has to wait for the asset manager to load it
+     */
+    private static boolean isGraphicsStepReady() {
+        if (graphicsStep == 0) {
+            return true;
+        }
+        String bakedFontPath = bakedFontPaths[graphicsStep - 1];
+        return bakedFontPath == null || assetManager.isLoaded(bakedFontPath);
+    }
+
+    private static void loadGraphicsStep() {
+        if (graphicsStep == 0) {
+            textureAtlas = assetManager.get(Constants.SPRITES_ATLAS_PATH, TextureAtlas.class);
+            setUpRegions();
+        } else {
+            int font = graphicsStep - 1;
+            fonts[font] = loadFont(font);
+            fonts[font].setColor(.21f, .22f, .21f, 1f);
+        }
+        graphicsStep++;
+
+        if (isGraphicsLoaded() && fontGenerator != null) {
+            fontGenerator.dispose();
+            fontGenerator = null;
+        }
+    }
+
+    private static BitmapFont loadFont(int font) {
+        if (bakedFontPaths[font] != null) {
+            return assetManager.get(bakedFontPaths[font], BitmapFont.class);
+        }
+
+        if (fontGenerator == null) {
+            fontGenerator = new FreeTypeFontGenerator(Gdx.files.internal(Constants.FONT_NAME));
+        }
+        FreeTypeFontGenerator.FreeTypeFontParameter parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
+        parameter.size = Constants.FONT_SIZES[font];
+        return fontGenerator.generateFont(parameter);
+    }
+
+    private static BitmapFont getFont(int size) {
+        for (int i = 0; i < Constants.FONT_SIZES.length; i++) {
+            if (Constants.FONT_SIZES[i] == size) {
+                return fonts[i];
+            }
+        }
+        return null;
+    }
+
+    private static void setUpRegions() {
 
         // Background
-        texturesMap.put(Constants.BACKGROUND_ASSETS_ID,
-                new TextureRegion(new Texture(Gdx.files.internal(Constants.BACKGROUND_IMAGE_PATH))));
+        parallaxConfig = new Json().fromJson(ParallaxConfig.class,
+                Gdx.files.internal(Constants.PARALLAX_CONFIG_PATH));
+        for (ParallaxConfig.Layer layer : parallaxConfig.layers) {
+            layer.textureRegion = textureAtlas.findRegion(layer.region);
+        }
 
         // Ground
         texturesMap.put(Constants.GROUND_ASSETS_ID,
-                new TextureRegion(new Texture(Gdx.files.internal(Constants.GROUND_IMAGE_PATH))));
-
-        textureAtlas = new TextureAtlas(Constants.SPRITES_ATLAS_PATH);
+                textureAtlas.findRegion(Constants.GROUND_REGION_NAME));
 
         // Runner
         texturesMap.put(Constants.RUNNER_JUMPING_ASSETS_ID,
@@ -81,19 +230,14 @@ public class AssetsManager {
         texturesMap.put(Constants.TUTORIAL_RIGHT_REGION_NAME,
                 textureAtlas.findRegion(Constants.TUTORIAL_RIGHT_REGION_NAME));
 
-        // Fonts
-        FreeTypeFontGenerator generator = new FreeTypeFontGenerator(Gdx.files.internal(Constants.FONT_NAME));
-        FreeTypeFontGenerator.FreeTypeFontParameter parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
-        parameter.size = 36;
-        smallFont = generator.generateFont(parameter);
-        smallFont.setColor(.21f, .22f, .21f, 1f);
-        parameter.size = 72;
-        largeFont = generator.generateFont(parameter);
-        largeFont.setColor(.21f, .22f, .21f, 1f);
-        parameter.size = 24;
-        smallestFont = generator.generateFont(parameter);
-        smallestFont.setColor(.21f, .22f, .21f, 1f);
-        generator.dispose();
+        // Menu buttons
+        skin = new Skin();
+        skin.addRegions(textureAtlas);
+        for (TextureAtlas.AtlasRegion region : textureAtlas.getRegions()) {
+            Button.ButtonStyle style = new Button.ButtonStyle();
+            style.up = skin.getDrawable(region.name);
+            skin.add(region.name, style);
+        }
 
     }
 
@@ -122,23 +266,58 @@ public class AssetsManager {
         return textureAtlas;
     }
 
+    /**
+     * @return a style showing the given atlas region. Styles are shared between buttons, so they
+     * must not be modified
+     */
+    public static Button.ButtonStyle getButtonStyle(String regionName) {
+        return skin.get(regionName, Button.ButtonStyle.class);
+    }
+
+    public static ParallaxConfig getParallaxConfig() {
+        return parallaxConfig;
+    }
+
     public static BitmapFont getSmallFont() {
-        return smallFont;
+        return getFont(Constants.SMALL_FONT_SIZE);
     }
 
     public static BitmapFont getLargeFont() {
-        return largeFont;
+        return getFont(Constants.LARGE_FONT_SIZE);
     }
 
     public static BitmapFont getSmallestFont() {
-        return smallestFont;
+        return getFont(Constants.SMALLEST_FONT_SIZE);
     }
 
+    public static Music getMusic() {
+        return assetManager.get(Constants.GAME_MUSIC, Music.class);
+    }
+
+    public static Sound getSound(String soundFileName) {
+        return assetManager.get(soundFileName, Sound.class);
+    }
+
+    /**
+     * Disposes the atlas, the audio and the baked fonts along with the asset manager
+     */
     public static void dispose() {
-        textureAtlas.dispose();
-        smallestFont.dispose();
-        smallFont.dispose();
-        largeFont.dispose();
+        assetManager.dispose();
+        textureAtlas = null;
+        if (fontGenerator != null) {
+            fontGenerator.dispose();
+            fontGenerator = null;
+        }
+        // Only the generated fonts are ours. Quitting while loading leaves some of them unset
+        for (int i = 0; i < fonts.length; i++) {
+            if (bakedFontPaths[i] == null && fonts[i] != null) {
+                fonts[i].dispose();
+            }
+            fonts[i] = null;
+            bakedFontPaths[i] = null;
+        }
+        // The skin's drawables are backed by the atlas, which is already disposed
+        skin = null;
         texturesMap.clear();
         animationsMap.clear();
     }
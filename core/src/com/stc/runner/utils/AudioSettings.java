@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Timer;
+import com.stc.runner.enums.AudioCategory;
+
+/**
+ * The audio settings, read from {@link Preferences} once and kept in memory afterwards. Changes
+ * are written back a moment after the last one, so flipping a setting back and forth only flushes
+ * the preferences once, and the flush happens in the background. {@link #flushNow()} writes on the
+ * calling thread instead, so writes take a lock and skip themselves if a newer one already ran
+ */
+public class AudioSettings {
+
+    public interface AudioSettingsListener {
+        public void onAudioSettingsChanged(AudioCategory category);
+    }
+
+    // Seconds between the last change and the flush
+    private static final float FLUSH_DELAY = 1f;
+
+    private static final AudioCategory[] CATEGORIES = AudioCategory.values();
+
+    private final boolean[] enabled = new boolean[CATEGORIES.length];
+    private final float[] volumes = new float[CATEGORIES.length];
+    private final Array<AudioSettingsListener> listeners = new Array<AudioSettingsListener>();
+    private boolean dirty;
+    // Only touched on the render thread
+    private int lastVersion;
+
+    private final Object writeLock = new Object();
+    // Guarded by writeLock
+    private int writtenVersion;
+
+    private final Timer.Task flushTask = new Timer.Task() {
+        @Override
+        public void run() {
+            flush(true);
+        }
+    };
+
+    public void load() {
+        Preferences preferences = getPreferences();
+        for (AudioCategory category : CATEGORIES) {
+            enabled[category.ordinal()] = preferences.getBoolean(category.getEnabledPreference(),
+                    true);
+            volumes[category.ordinal()] = preferences.getFloat(category.getVolumePreference(), 1f);
+        }
+    }
+
+    public void addListener(AudioSettingsListener listener) {
+        listeners.add(listener);
+    }
+
+    public boolean isEnabled(AudioCategory category) {
+        return enabled[category.ordinal()];
+    }
+
+    public void setEnabled(AudioCategory category, boolean enabled) {
+        if (this.enabled[category.ordinal()] != enabled) {
+            this.enabled[category.ordinal()] = enabled;
+            onChanged(category);
+        }
+    }
+
+    public float getVolume(AudioCategory category) {
+        return volumes[category.ordinal()];
+    }
+
+    public void setVolume(AudioCategory category, float volume) {
+        volume = Math.max(0f, Math.min(volume, 1f));
+        if (volumes[category.ordinal()] != volume) {
+            volumes[category.ordinal()] = volume;
+            onChanged(category);
+        }
+    }
+
+    private void onChanged(AudioCategory category) {
+        for (AudioSettingsListener listener : listeners) {
+            listener.onAudioSettingsChanged(category);
+        }
+
+        dirty = true;
+        if (!flushTask.isScheduled()) {
+            Timer.schedule(flushTask, FLUSH_DELAY);
+        }
+    }
+
+    /**
+     * Writes any pending change right away, i.e. when the game is paused or closed and a pending
+     * flush might never run
+     */
+    public void flushNow() {
+        flushTask.cancel();
+        flush(false);
+    }
+
+    private void flush(boolean inBackground) {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+
+        final int version = ++lastVersion;
+        final boolean[] enabled = this.enabled.clone();
+        final float[] volumes = this.volumes.clone();
+        Runnable write = new Runnable() {
+            @Override
+            public void run() {
+                synchronized (writeLock) {
+                    if (version < writtenVersion) {
+                        return;
+                    }
+                    Preferences preferences = getPreferences();
+                    for (AudioCategory category : CATEGORIES) {
+                        preferences.putBoolean(category.getEnabledPreference(),
+                                enabled[category.ordinal()]);
+                        preferences.putFloat(category.getVolumePreference(),
+                                volumes[category.ordinal()]);
+                    }
+                    preferences.flush();
+                    writtenVersion = version;
+                }
+            }
+        };
+
+        if (inBackground) {
+            GameManager.getInstance().runInBackground(write);
+        } else {
+            write.run();
+        }
+    }
+
+    private Preferences getPreferences() {
+        return Gdx.app.getPreferences(GameManager.PREFERENCES_NAME);
+    }
+
+}
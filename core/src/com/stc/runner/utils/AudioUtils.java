@@ -16,20 +16,25 @@
 
 package com.stc.runner.utils;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.audio.Music;
-import com.badlogic.gdx.audio.Sound;
+import com.stc.runner.enums.AudioCategory;
 
-public class AudioUtils {
+/**
+ * Plays the game's audio through per-category volumes. The settings are read once and kept in
+ * {@link AudioSettings}, so playing a sound never touches the preferences
+ */
+public class AudioUtils implements AudioSettings.AudioSettingsListener {
 
     private static AudioUtils ourInstance = new AudioUtils();
     private static Music music;
-    private static Sound jumpSound;
-    private static Sound hitSound;
+    private static SoundEffect jumpSound;
+    private static SoundEffect hitSound;
+
+    // Jumps can come in quick succession, a hit only happens once per run
+    private static final int JUMP_SOUND_VOICES = 2;
+    private static final int HIT_SOUND_VOICES = 1;
 
-    private static final String MUSIC_ON_PREFERENCE = "music_on";
-    private static final String SOUND_ON_PREFERENCE = "sound_on";
+    private AudioSettings settings;
 
     private AudioUtils() {
     }
@@ -42,75 +47,110 @@ public class AudioUtils {
         return music;
     }
 
-    private Preferences getPreferences() {
-        return Gdx.app.getPreferences(GameManager.PREFERENCES_NAME);
+    /**
+     * Loaded on first use, since the preferences aren't available before the game is created
+     */
+    public AudioSettings getSettings() {
+        if (settings == null) {
+            settings = new AudioSettings();
+            settings.load();
+            settings.addListener(this);
+        }
+        return settings;
     }
 
+    /**
+     * Called once {@link AssetsManager} has loaded the audio. Until then the game stays silent
+     */
     public void init() {
-        music = Gdx.audio.newMusic(Gdx.files.internal(Constants.GAME_MUSIC));
+        music = AssetsManager.getMusic();
         music.setLooping(true);
+        music.setVolume(getSettings().getVolume(AudioCategory.MUSIC));
         playMusic();
-        jumpSound = createSound(Constants.RUNNER_JUMPING_SOUND);
-        hitSound = createSound(Constants.RUNNER_HIT_SOUND);
-    }
-
-    public Sound createSound(String soundFileName) {
-        return Gdx.audio.newSound(Gdx.files.internal(soundFileName));
+        jumpSound = new SoundEffect(AssetsManager.getSound(Constants.RUNNER_JUMPING_SOUND),
+                JUMP_SOUND_VOICES);
+        jumpSound.prewarm();
+        hitSound = new SoundEffect(AssetsManager.getSound(Constants.RUNNER_HIT_SOUND),
+                HIT_SOUND_VOICES);
+        hitSound.prewarm();
     }
 
     public void playMusic() {
-        boolean musicOn = getPreferences().getBoolean(MUSIC_ON_PREFERENCE, true);
-        if (musicOn) {
+        if (getSettings().isEnabled(AudioCategory.MUSIC) && music != null) {
             music.play();
         }
     }
 
-    public void playSound(Sound sound) {
-        boolean soundOn = getPreferences().getBoolean(SOUND_ON_PREFERENCE, true);
-        if (soundOn) {
-            sound.play();
+    public void playSound(SoundEffect sound) {
+        if (getSettings().isEnabled(AudioCategory.EFFECTS) && sound != null) {
+            sound.play(getSettings().getVolume(AudioCategory.EFFECTS));
         }
     }
 
     public void toggleMusic() {
-        saveBoolean(MUSIC_ON_PREFERENCE, !getPreferences().getBoolean(MUSIC_ON_PREFERENCE, true));
+        getSettings().setEnabled(AudioCategory.MUSIC,
+                !getSettings().isEnabled(AudioCategory.MUSIC));
     }
 
     public void toggleSound() {
-        saveBoolean(SOUND_ON_PREFERENCE, !getPreferences().getBoolean(SOUND_ON_PREFERENCE, true));
+        getSettings().setEnabled(AudioCategory.EFFECTS,
+                !getSettings().isEnabled(AudioCategory.EFFECTS));
+    }
+
+    @Override
+    public void onAudioSettingsChanged(AudioCategory category) {
+        if (category != AudioCategory.MUSIC || music == null) {
+            return;
+        }
+
+        music.setVolume(getSettings().getVolume(AudioCategory.MUSIC));
+        if (getSettings().isEnabled(AudioCategory.MUSIC)) {
+            playMusic();
+        } else {
+            pauseMusic();
+        }
     }
 
-    private void saveBoolean(String key, boolean value) {
-        Preferences preferences = getPreferences();
-        preferences.putBoolean(key, value);
-        preferences.flush();
+    /**
+     * Writes pending settings before the game goes to the background
+     */
+    public void saveSettings() {
+        if (settings != null) {
+            settings.flushNow();
+        }
     }
 
+    /**
+     * The audio belongs to {@link AssetsManager}, which disposes it
+     */
     public static void dispose() {
-        music.dispose();
-        jumpSound.dispose();
-        hitSound.dispose();
+        ourInstance.saveSettings();
+        music = null;
+        jumpSound = null;
+        hitSound = null;
     }
 
     public void pauseMusic() {
-        music.pause();
+        if (music != null) {
+            music.pause();
+        }
     }
 
     public String getSoundRegionName() {
-        boolean soundOn = getPreferences().getBoolean(SOUND_ON_PREFERENCE, true);
+        boolean soundOn = getSettings().isEnabled(AudioCategory.EFFECTS);
         return soundOn ? Constants.SOUND_ON_REGION_NAME : Constants.SOUND_OFF_REGION_NAME;
     }
 
     public String getMusicRegionName() {
-        boolean musicOn = getPreferences().getBoolean(MUSIC_ON_PREFERENCE, true);
+        boolean musicOn = getSettings().isEnabled(AudioCategory.MUSIC);
         return musicOn ? Constants.MUSIC_ON_REGION_NAME : Constants.MUSIC_OFF_REGION_NAME;
     }
 
-    public Sound getJumpSound() {
+    public SoundEffect getJumpSound() {
         return jumpSound;
     }
 
-    public Sound getHitSound() {
+    public SoundEffect getHitSound() {
         return hitSound;
     }
 }
@@ -34,22 +34,12 @@ public class BodyUtils {
         return true;
     }
 
-    public static boolean bodyIsEnemy(Body body) {
-        UserData userData = (UserData) body.getUserData();
-
-        return userData != null && userData.getUserDataType() == UserDataType.ENEMY;
-    }
-
-    public static boolean bodyIsRunner(Body body) {
-        UserData userData = (UserData) body.getUserData();
-
-        return userData != null && userData.getUserDataType() == UserDataType.RUNNER;
-    }
-
-    public static boolean bodyIsGround(Body body) {
-        UserData userData = (UserData) body.getUserData();
-
-        return userData != null && userData.getUserDataType() == UserDataType.GROUND;
+    /**
+     * @return the category bits of the body's {@link UserDataType}. Or'ing them for both bodies of
+     * a contact gives a pair code to switch on, i.e. {@link Constants#RUNNER_ENEMY_CONTACT}
+     */
+    public static int getCategoryBits(Body body) {
+        return ((UserData) body.getUserData()).getUserDataType().getCategoryBits();
     }
 
 }
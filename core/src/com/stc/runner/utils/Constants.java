@@ -52,7 +52,20 @@ public class Constants {
     public static final float FLYING_ENEMY_Y = 3f;
     public static final Vector2 ENEMY_LINEAR_VELOCITY = new Vector2(-10f, 0);
 
-    public static final String BACKGROUND_ASSETS_ID = "background";
+    // Scrolling speed of the ground relative to the enemies', the background's is in the parallax config
+    public static final float GROUND_SPEED_FACTOR = 1f;
+
+    // Fixture filtering: enemies only ever collide with the runner
+    public static final short GROUND_CATEGORY_BITS = 0x0001;
+    public static final short RUNNER_CATEGORY_BITS = 0x0002;
+    public static final short ENEMY_CATEGORY_BITS = 0x0004;
+    public static final short GROUND_MASK_BITS = RUNNER_CATEGORY_BITS;
+    public static final short RUNNER_MASK_BITS = GROUND_CATEGORY_BITS | ENEMY_CATEGORY_BITS;
+    public static final short ENEMY_MASK_BITS = RUNNER_CATEGORY_BITS;
+    // Pair codes of the contacts that can happen, the categories of both fixtures or'ed together
+    public static final int RUNNER_GROUND_CONTACT = RUNNER_CATEGORY_BITS | GROUND_CATEGORY_BITS;
+    public static final int RUNNER_ENEMY_CONTACT = RUNNER_CATEGORY_BITS | ENEMY_CATEGORY_BITS;
+
     public static final String GROUND_ASSETS_ID = "ground";
     public static final String RUNNER_RUNNING_ASSETS_ID = "runner_running";
     public static final String RUNNER_DODGING_ASSETS_ID = "runner_dodging";
@@ -65,9 +78,10 @@ public class Constants {
     public static final String FLYING_SMALL_ENEMY_ASSETS_ID = "flying_small_enemy";
     public static final String FLYING_WIDE_ENEMY_ASSETS_ID = "flying_wide_enemy";
 
-    public static final String BACKGROUND_IMAGE_PATH = "bg_tama.png";
-    public static final String GROUND_IMAGE_PATH = "ground.png";
     public static final String SPRITES_ATLAS_PATH = "sprites.txt";
+    public static final String PARALLAX_CONFIG_PATH = "parallax.json";
+    public static final String ACHIEVEMENT_RULES_PATH = "achievements.json";
+    public static final String GROUND_REGION_NAME = "ground";
     public static final String[] RUNNER_RUNNING_REGION_NAMES = new String[] {"alienBeige_run1", "alienBeige_run2"};
     public static final String RUNNER_DODGING_REGION_NAME = "alienBeige_dodge";
     public static final String RUNNER_HIT_REGION_NAME = "alienBeige_hit";
@@ -103,6 +117,24 @@ public class Constants {
     public static final String GAME_MUSIC = "fun_in_a_bottle.mp3";
 
     public static final String FONT_NAME = "roboto_bold.ttf";
+    public static final int SMALL_FONT_SIZE = 36;
+    public static final int LARGE_FONT_SIZE = 72;
+    public static final int SMALLEST_FONT_SIZE = 24;
+    public static final int[] FONT_SIZES = new int[] {SMALL_FONT_SIZE, LARGE_FONT_SIZE,
+            SMALLEST_FONT_SIZE};
+    // Written by desktop:bakeFonts
+    public static final String BAKED_FONTS_DIR = "fonts";
+    public static final String FONT_MANIFEST_PATH = BAKED_FONTS_DIR + "/fonts.json";
+
+    // Written to local storage while the debug overlay is tracing frames
+    public static final String FRAME_TRACE_PATH = "frame_trace.csv";
+
+    public static final String LAST_RUN_REPLAY_PATH = "last_run.replay";
+    public static final String PLAYER_STATS_PATH = "player_stats.bin";
+    public static final String SCORE_JOURNAL_PATH = "scores.journal";
+    public static final String LOCAL_LEADERBOARD_PATH = "runs.dat";
+    // Shown after each run
+    public static final int LOCAL_TOP_SCORES = 3;
 
     public static final String ABOUT_TEXT = "Developed by: Artem Radchenko\nDesign: Roman Yakovlev\nPowered by: " +
             "@libgdx";
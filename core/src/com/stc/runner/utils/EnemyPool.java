@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.utils;
+
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.stc.runner.box2d.BodyRegistry;
+import com.stc.runner.box2d.EnemyUserData;
+import com.stc.runner.enums.EnemyType;
+
+/**
+ * Reuses enemy bodies per {@link com.stc.runner.enums.EnemyType}. Freed bodies are deactivated
+ * instead of destroyed, so spawning an enemy of a type that has been seen before only costs a
+ * transform reset
+ */
+public class EnemyPool {
+
+    private final World world;
+    private final BodyRegistry registry;
+    private final ObjectMap<EnemyType, Array<Body>> freeBodies;
+
+    public EnemyPool(World world, BodyRegistry registry) {
+        this.world = world;
+        this.registry = registry;
+        freeBodies = new ObjectMap<EnemyType, Array<Body>>();
+        for (EnemyType enemyType : EnemyType.values()) {
+            freeBodies.put(enemyType, new Array<Body>());
+        }
+    }
+
+    /**
+     * @return an active enemy body at the spawn position of the given type
+     */
+    public Body obtain(EnemyType enemyType) {
+        Array<Body> bodies = freeBodies.get(enemyType);
+
+        if (bodies.size == 0) {
+            return WorldUtils.createEnemy(world, registry, enemyType);
+        }
+
+        Body body = bodies.pop();
+        WorldUtils.respawnEnemy(registry, body);
+        return body;
+    }
+
+    public void free(Body body) {
+        WorldUtils.deactivateEnemy(registry, body);
+        freeBodies.get(((EnemyUserData) body.getUserData()).getEnemyType()).add(body);
+    }
+
+}
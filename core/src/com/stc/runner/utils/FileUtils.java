@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.utils;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.File;
+
+/**
+ * Replaces small save files through a temporary file, so there is always a complete copy on disk
+ * even if the process dies halfway through
+ */
+public class FileUtils {
+
+    private static final String BACKUP_SUFFIX = ".bak";
+
+    /**
+     * Moves an already written temporary file over the given file. Renaming over an existing file
+     * fails on some platforms, in that case the old file is kept as a backup until the new one is
+     * in place, and {@link #recover(FileHandle, FileHandle)} picks up whichever survived
+     *
+     * @return false if the file couldn't be replaced, it's left as it was
+     */
+    public static boolean replace(FileHandle file, FileHandle tempFile) {
+        File target = file.file();
+        File temp = tempFile.file();
+        if (temp.renameTo(target)) {
+            return true;
+        }
+
+        File backup = getBackup(file);
+        backup.delete();
+        if (!target.renameTo(backup)) {
+            return false;
+        }
+        if (temp.renameTo(target)) {
+            backup.delete();
+            return true;
+        }
+        backup.renameTo(target);
+        return false;
+    }
+
+    /**
+     * Puts the file back in place if {@link #replace(FileHandle, FileHandle)} was interrupted after
+     * moving it aside. The temporary file is complete by then, so it's preferred over the backup
+     */
+    public static void recover(FileHandle file, FileHandle tempFile) {
+        File backup = getBackup(file);
+        if (file.exists() || !backup.exists()) {
+            return;
+        }
+
+        if (tempFile.exists() && tempFile.file().renameTo(file.file())) {
+            backup.delete();
+        } else {
+            backup.renameTo(file.file());
+        }
+    }
+
+    private static File getBackup(FileHandle file) {
+        return file.sibling(file.name() + BACKUP_SUFFIX).file();
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.utils;
+
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+
+import java.util.zip.CRC32;
+
+/**
+ * Lists the fonts baked by desktop:bakeFonts, read from {@link Constants#FONT_MANIFEST_PATH}.
+ * Each entry keeps a checksum of the TTF and the parameters it was generated with, so a font
+ * baked from an older TTF is generated again instead of being loaded
+ */
+public class FontManifest {
+
+    // Bump when the way fonts are generated changes without the TTF or the sizes changing
+    private static final int VERSION = 1;
+
+    public Entry[] fonts;
+
+    public static class Entry {
+
+        // Size in pixels
+        public int size;
+        // Path of the .fnt file, relative to the assets
+        public String file;
+        public long checksum;
+
+    }
+
+    /**
+     * @return the entry for the given size if its checksum still matches, null otherwise
+     */
+    public Entry findEntry(int size, long checksum) {
+        for (Entry entry : fonts) {
+            if (entry.size == size && entry.checksum == checksum) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    public static String getFontPath(int size) {
+        String name = Constants.FONT_NAME.substring(0, Constants.FONT_NAME.lastIndexOf('.'));
+        return Constants.BAKED_FONTS_DIR + "/" + name + "_" + size + ".fnt";
+    }
+
+    public static long computeChecksum(byte[] ttf, int size) {
+        CRC32 crc = new CRC32();
+        crc.update(ttf);
+        updateInt(crc, VERSION);
+        updateInt(crc, size);
+        String characters = FreeTypeFontGenerator.DEFAULT_CHARS;
+        for (int i = 0; i < characters.length(); i++) {
+            char c = characters.charAt(i);
+            crc.update(c >> 8);
+            crc.update(c);
+        }
+        return crc.getValue();
+    }
+
+    private static void updateInt(CRC32 crc, int value) {
+        crc.update(value >> 24);
+        crc.update(value >> 16);
+        crc.update(value >> 8);
+        crc.update(value);
+    }
+
+}
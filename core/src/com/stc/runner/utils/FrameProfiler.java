@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the frame times of the last couple of seconds for the debug overlay and, when tracing,
+ * appends one CSV row per frame to a local file. Rows are buffered and written in the background,
+ * so tracing doesn't stall the frames it measures
+ */
+public class FrameProfiler {
+
+    private static final int WINDOW = 120;
+    private static final int TRACE_FLUSH_LENGTH = 32 * 1024;
+    private static final String TRACE_HEADER =
+            "frame,delta_us,work_us,steps,render_calls,bodies,actors,heap_growth_bytes\n";
+
+    private final float[] frameTimes = new float[WINDOW];
+    private final float[] workTimes = new float[WINDOW];
+    private final float[] sorted = new float[WINDOW];
+    private final long[] heapGrowth = new long[WINDOW];
+    private int count;
+    private int next;
+    private int frame;
+
+    private long workStart;
+    private long lastHeap;
+
+    private FileHandle traceFile;
+    private final StringBuilder trace = new StringBuilder(TRACE_FLUSH_LENGTH + 128);
+
+    /**
+     * Called when the stage starts drawing, which is where a frame's work starts
+     */
+    public void beginFrame() {
+        workStart = TimeUtils.nanoTime();
+    }
+
+    /**
+     * Called once the stage has acted
+     *
+     * @param delta time since the last frame, in seconds
+     */
+    public void endFrame(float delta, int steps, int renderCalls, int bodies, int actors) {
+        long workNanos = TimeUtils.nanoTime() - workStart;
+
+        // The heap only shrinks when the collector runs, so a drop isn't counted as allocations
+        long heap = Gdx.app.getJavaHeap();
+        long growth = lastHeap == 0 ? 0 : Math.max(heap - lastHeap, 0);
+        lastHeap = heap;
+
+        frameTimes[next] = delta * 1000;
+        workTimes[next] = workNanos / 1000000f;
+        heapGrowth[next] = growth;
+        next = (next + 1) % WINDOW;
+        count = Math.min(count + 1, WINDOW);
+        frame++;
+
+        if (traceFile != null) {
+            trace.append(frame).append(',').append((int) (delta * 1000000)).append(',')
+                    .append((int) (workNanos / 1000)).append(',').append(steps).append(',')
+                    .append(renderCalls).append(',').append(bodies).append(',').append(actors)
+                    .append(',').append((int) growth).append('\n');
+            if (trace.length() >= TRACE_FLUSH_LENGTH) {
+                flushTrace();
+            }
+        }
+    }
+
+    /**
+     * @param percentile between 0 and 1
+     * @return the frame time at the given percentile of the window, in milliseconds
+     */
+    public float getFrameTime(float percentile) {
+        return getPercentile(frameTimes, percentile);
+    }
+
+    /**
+     * @param percentile between 0 and 1
+     * @return the time spent drawing and acting at the given percentile of the window, in
+     * milliseconds
+     */
+    public float getWorkTime(float percentile) {
+        return getPercentile(workTimes, percentile);
+    }
+
+    /**
+     * Only an estimate, from how much the heap grew between frames that didn't collect
+     *
+     * @return the average heap growth per frame over the window, in bytes
+     */
+    public long getHeapGrowthPerFrame() {
+        if (count == 0) {
+            return 0;
+        }
+
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += heapGrowth[i];
+        }
+        return total / count;
+    }
+
+    private float getPercentile(float[] values, float percentile) {
+        if (count == 0) {
+            return 0;
+        }
+
+        System.arraycopy(values, 0, sorted, 0, count);
+        Arrays.sort(sorted, 0, count);
+        return sorted[Math.min((int) (percentile * count), count - 1)];
+    }
+
+    public boolean isTracing() {
+        return traceFile != null;
+    }
+
+    /**
+     * Starts a new trace, replacing whatever the file held
+     */
+    public void startTrace(final FileHandle file) {
+        stopTrace();
+        traceFile = file;
+        frame = 0;
+        GameManager.getInstance().runInBackground(new Runnable() {
+            @Override
+            public void run() {
+                file.writeString(TRACE_HEADER, false);
+            }
+        });
+    }
+
+    public void stopTrace() {
+        if (traceFile == null) {
+            return;
+        }
+
+        flushTrace();
+        Gdx.app.log(FrameProfiler.class.getSimpleName(), "Frame trace saved to "
+                + traceFile.path());
+        traceFile = null;
+    }
+
+    private void flushTrace() {
+        if (trace.length() == 0) {
+            return;
+        }
+
+        final FileHandle file = traceFile;
+        final String rows = trace.toString();
+        trace.setLength(0);
+        // The executor runs one task at a time, so the rows are appended in order
+        GameManager.getInstance().runInBackground(new Runnable() {
+            @Override
+            public void run() {
+                file.writeString(rows, true);
+            }
+        });
+    }
+
+}
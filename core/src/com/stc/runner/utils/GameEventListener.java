@@ -33,11 +33,17 @@ public interface GameEventListener {
     public void hideAd();
 
     /**
-     * Submits a given score. Used every time the game is over
+     * Submits a given score. Used every time the game is over, and again for the scores that
+     * couldn't be submitted before. Called from the background executor, so it may block until the
+     * platform confirms the score. A run may be submitted more than once, i.e. after a crash, so
+     * submitting a run again has to be harmless
      *
+     * @param runId unique to the run
      * @param score
+     * @return true only once the platform has accepted the score, false if it should be submitted
+     * again later, i.e. the player isn't signed in or the upload failed
      */
-    public void submitScore(int score);
+    public boolean submitScore(long runId, int score);
 
     /**
      * Displays the scores leaderboard
@@ -58,76 +64,29 @@ public interface GameEventListener {
      * Unlocks an achievement with the given ID
      *
      * @param id achievement ID
+     * @return false if the achievement couldn't be unlocked right now, i.e. the player isn't signed
+     * in
      * @see <a href="https://developers.google.com/games/services/">Google Play Game Services</a>
      */
-    public void unlockAchievement(String id);
+    public boolean unlockAchievement(String id);
 
     /**
      * Increments an achievement with the given ID
      *
      * @param id    achievement ID
      * @param steps incremental steps
+     * @return false if the achievement couldn't be incremented right now, i.e. the player isn't
+     * signed in
      * @see <a href="https://developers.google.com/games/services/">Google Play Game Services</a>
      */
-    public void incrementAchievement(String id, int steps);
+    public boolean incrementAchievement(String id, int steps);
 
     /**
-     * The following are getters for specific achievement IDs used in this game
-     */
-
-    /**
-     * @return "Getting Started" achievement ID
-     */
-    public String getGettingStartedAchievementId();
-
-    /**
-     * @return "Like a Rover" achievement ID
-     */
-    public String getLikeARoverAchievementId();
-
-    /**
-     * @return "Spirit" achievement ID
-     */
-    public String getSpiritAchievementId();
-
-    /**
-     * @return "Curiosity" achievement ID
-     */
-    public String getCuriosityAchievementId();
-
-    /**
-     * @return "5k Club" achievement ID
-     */
-    public String get5kClubAchievementId();
-
-    /**
-     * @return "10k Club" achievement ID
-     */
-    public String get10kClubAchievementId();
-
-    /**
-     * @return "25k Club" achievement ID
-     */
-    public String get25kClubAchievementId();
-
-    /**
-     * @return "50k Club" achievement ID
-     */
-    public String get50kClubAchievementId();
-
-    /**
-     * @return "10 Jump Street" achievement ID
-     */
-    public String get10JumpStreetAchievementId();
-
-    /**
-     * @return "100 Jump Street" achievement ID
-     */
-    public String get100JumpStreetAchievementId();
-
-    /**
-     * @return "500 Jump Street" achievement ID
+     * Maps the keys used by the achievement rules to this platform's achievement IDs
+     *
+     * @param key achievement key, e.g. "getting_started"
+     * @return achievement ID, null if there's no such achievement on this platform
      */
-    public String get500JumpStreetAchievementId();
+    public String getAchievementId(String key);
 
 }
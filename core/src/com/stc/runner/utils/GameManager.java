@@ -17,7 +17,9 @@
 package com.stc.runner.utils;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncTask;
+import com.stc.runner.enums.AchievementCounter;
 import com.stc.runner.enums.Difficulty;
 import com.stc.runner.enums.GameState;
 
@@ -31,13 +33,22 @@ public class GameManager implements GameEventListener {
     private static GameManager ourInstance = new GameManager();
 
     public static final String PREFERENCES_NAME = "preferences";
-    private static final String MAX_SCORE_PREFERENCE = "max_score";
-    private static final String ACHIEVEMENT_COUNT_PREFERENCE_SUFFIX = "_count";
-    private static final String ACHIEVEMENT_UNLOCKED_PREFERENCE_SUFFIX = "_unlocked";
+    // Run id of the score migrated from the preferences
+    private static final long LEGACY_RUN_ID = 0;
 
     private GameState gameState;
     private Difficulty difficulty;
     private GameEventListener gameEventListener;
+    private boolean debugOverlayEnabled;
+    private boolean frameTraceEnabled;
+    private PlayerStats playerStats;
+    private AchievementEngine achievementEngine;
+    private AchievementBatcher achievementBatcher;
+    private ScoreJournal scoreJournal;
+    private LocalLeaderboard localLeaderboard;
+    // A single thread, so background work runs in the order it was submitted. Created on first
+    // use, so it can be started again when the game is created again in the same process
+    private AsyncExecutor executor;
 
     public static GameManager getInstance() {
         return ourInstance;
@@ -75,214 +86,233 @@ public class GameManager implements GameEventListener {
         this.gameEventListener = gameEventListener;
     }
 
-    @Override
-    public void displayAd() {
-        gameEventListener.displayAd();
-    }
-
-    @Override
-    public void hideAd() {
-        gameEventListener.hideAd();
+    public boolean isDebugOverlayEnabled() {
+        return debugOverlayEnabled;
     }
 
     /**
-     * Submits a score and unlocks a score-based achievement depending on the total
+     * Whether the debug overlay is shown when the game starts, it can still be toggled in game
      */
-    @Override
-    public void submitScore(int score) {
-        gameEventListener.submitScore(score);
-
-        if (score > 5000 && !isAchievementUnlocked(get5kClubAchievementId())) {
-            unlockAchievement(get5kClubAchievementId());
-        }
+    public void setDebugOverlayEnabled(boolean debugOverlayEnabled) {
+        this.debugOverlayEnabled = debugOverlayEnabled;
+    }
 
-        if (score > 10000 && !isAchievementUnlocked(get10kClubAchievementId())) {
-            unlockAchievement(get10kClubAchievementId());
-        }
+    public boolean isFrameTraceEnabled() {
+        return frameTraceEnabled;
+    }
 
-        if (score > 25000 && !isAchievementUnlocked(get25kClubAchievementId())) {
-            unlockAchievement(get25kClubAchievementId());
-        }
+    /**
+     * Whether a per-frame trace is written from the moment the game starts
+     */
+    public void setFrameTraceEnabled(boolean frameTraceEnabled) {
+        this.frameTraceEnabled = frameTraceEnabled;
+    }
 
-        if (score > 50000 && !isAchievementUnlocked(get50kClubAchievementId())) {
-            unlockAchievement(get50kClubAchievementId());
+    /**
+     * Reads the player's stats and unsubmitted scores once, the first time this runs it moves them
+     * out of the preferences
+     */
+    public void loadPlayerData() {
+        playerStats = new PlayerStats(Gdx.files.local(Constants.PLAYER_STATS_PATH));
+        achievementBatcher = new AchievementBatcher(gameEventListener);
+        achievementEngine = new AchievementEngine(playerStats, achievementBatcher);
+        achievementEngine.load(Gdx.files.internal(Constants.ACHIEVEMENT_RULES_PATH),
+                gameEventListener);
+        playerStats.load(achievementEngine.getAchievementIds());
+        scoreJournal = new ScoreJournal(Gdx.files.local(Constants.SCORE_JOURNAL_PATH));
+        scoreJournal.load();
+        localLeaderboard = new LocalLeaderboard(Gdx.files.local(Constants.LOCAL_LEADERBOARD_PATH));
+        localLeaderboard.open();
+
+        // The single best score kept before the journal existed
+        if (playerStats.getMaxScore() > 0) {
+            scoreJournal.append(LEGACY_RUN_ID, playerStats.getMaxScore());
+            playerStats.setMaxScore(0);
         }
+        saveStats();
     }
 
-    @Override
-    public void displayLeaderboard() {
-        gameEventListener.displayLeaderboard();
+    public PlayerStats getPlayerStats() {
+        return playerStats;
     }
 
-    @Override
-    public void displayAchievements() {
-        gameEventListener.displayAchievements();
+    /**
+     * Only to be used from the background executor
+     */
+    public LocalLeaderboard getLocalLeaderboard() {
+        return localLeaderboard;
     }
 
-    @Override
-    public void share() {
-        gameEventListener.share();
+    /**
+     * Closes the player's files once the background work queued so far is done, and waits for it
+     */
+    public void closePlayerData() {
+        runInBackground(new Runnable() {
+            @Override
+            public void run() {
+                playerStats.save();
+                localLeaderboard.close();
+            }
+        });
+        finishBackgroundWork();
     }
 
-    @Override
-    public void unlockAchievement(String id) {
-        gameEventListener.unlockAchievement(id);
+    /**
+     * Writes the stats in the background if anything changed. Stats changed while a run ends are
+     * written together once it's done
+     */
+    public void saveStats() {
+        runInBackground(new Runnable() {
+            @Override
+            public void run() {
+                playerStats.save();
+            }
+        });
     }
 
-    @Override
-    public void incrementAchievement(String id, int steps) {
-        gameEventListener.incrementAchievement(id, steps);
+    /**
+     * Runs persistence and platform work, i.e. score submission and achievement bookkeeping, off
+     * the render thread
+     */
+    public synchronized void runInBackground(final Runnable runnable) {
+        if (executor == null) {
+            executor = new AsyncExecutor(1);
+        }
+        executor.submit(new AsyncTask<Void>() {
+            @Override
+            public Void call() throws Exception {
+                try {
+                    runnable.run();
+                } catch (RuntimeException e) {
+                    Gdx.app.error(GameManager.class.getSimpleName(), "Background task failed", e);
+                }
+                return null;
+            }
+        });
     }
 
-    @Override
-    public String getGettingStartedAchievementId() {
-        return gameEventListener.getGettingStartedAchievementId();
+    /**
+     * Waits for the background work submitted so far to finish. Its thread is a daemon, so work
+     * still queued when the game exits would be lost otherwise
+     */
+    public void finishBackgroundWork() {
+        AsyncExecutor executor;
+        synchronized (this) {
+            executor = this.executor;
+            this.executor = null;
+        }
+        if (executor != null) {
+            executor.dispose();
+        }
     }
 
     @Override
-    public String getLikeARoverAchievementId() {
-        return gameEventListener.getLikeARoverAchievementId();
+    public void displayAd() {
+        gameEventListener.displayAd();
     }
 
     @Override
-    public String getSpiritAchievementId() {
-        return gameEventListener.getSpiritAchievementId();
+    public void hideAd() {
+        gameEventListener.hideAd();
     }
 
+    /**
+     * Journals a score and submits it along with any earlier ones that couldn't be, then counts it
+     * towards the score-based achievements. Does file I/O, so it runs in the background
+     *
+     * @return always true, the score is kept until the platform takes it
+     */
     @Override
-    public String getCuriosityAchievementId() {
-        return gameEventListener.getCuriosityAchievementId();
+    public boolean submitScore(long runId, int score) {
+        scoreJournal.append(runId, score);
+        scoreJournal.submitPending(gameEventListener);
+        achievementEngine.add(AchievementCounter.SCORE, score);
+        return true;
     }
 
-    @Override
-    public String get5kClubAchievementId() {
-        return gameEventListener.get5kClubAchievementId();
+    /**
+     * Submits the scores journaled while the player was signed out
+     */
+    public void submitPendingScores() {
+        runInBackground(new Runnable() {
+            @Override
+            public void run() {
+                // Sign in can finish before the game is created, the next run submits them then
+                if (scoreJournal != null) {
+                    scoreJournal.submitPending(gameEventListener);
+                }
+            }
+        });
     }
 
     @Override
-    public String get10kClubAchievementId() {
-        return gameEventListener.get10kClubAchievementId();
+    public void displayLeaderboard() {
+        gameEventListener.displayLeaderboard();
     }
 
     @Override
-    public String get25kClubAchievementId() {
-        return gameEventListener.get25kClubAchievementId();
+    public void displayAchievements() {
+        gameEventListener.displayAchievements();
     }
 
     @Override
-    public String get50kClubAchievementId() {
-        return gameEventListener.get50kClubAchievementId();
+    public void share() {
+        gameEventListener.share();
     }
 
     @Override
-    public String get10JumpStreetAchievementId() {
-        return gameEventListener.get10JumpStreetAchievementId();
+    public boolean unlockAchievement(String id) {
+        return gameEventListener.unlockAchievement(id);
     }
 
     @Override
-    public String get100JumpStreetAchievementId() {
-        return gameEventListener.get100JumpStreetAchievementId();
+    public boolean incrementAchievement(String id, int steps) {
+        return gameEventListener.incrementAchievement(id, steps);
     }
 
     @Override
-    public String get500JumpStreetAchievementId() {
-        return gameEventListener.get500JumpStreetAchievementId();
-    }
-
-    private Preferences getPreferences() {
-        return Gdx.app.getPreferences(PREFERENCES_NAME);
-    }
-
-    public void saveScore(int score) {
-        Preferences preferences = getPreferences();
-        int maxScore = preferences.getInteger(MAX_SCORE_PREFERENCE, 0);
-        if (score > maxScore) {
-            preferences.putInteger(MAX_SCORE_PREFERENCE, score);
-            preferences.flush();
-        }
-    }
-
-    public boolean hasSavedMaxScore() {
-        return getPreferences().getInteger(MAX_SCORE_PREFERENCE, 0) > 0;
-    }
-
-    public void submitSavedMaxScore() {
-        Preferences preferences = getPreferences();
-        submitScore(preferences.getInteger(MAX_SCORE_PREFERENCE, 0));
-        preferences.remove(MAX_SCORE_PREFERENCE);
-        preferences.flush();
+    public String getAchievementId(String key) {
+        return gameEventListener.getAchievementId(key);
     }
 
     public void addGamePlayed() {
-
-        // No need to keep counting if all achievements have been unlocked
-        if (getAchievementCount(getCuriosityAchievementId()) > 500) {
-            return;
-        }
-
-        if (!isAchievementUnlocked(getGettingStartedAchievementId())) {
-            unlockAchievement(getGettingStartedAchievementId());
-        }
-
-        if (getAchievementCount(getLikeARoverAchievementId()) <= 10) {
-            incrementAchievement(getLikeARoverAchievementId(), 1);
-        }
-
-        if (getAchievementCount(getSpiritAchievementId()) <= 100) {
-            incrementAchievement(getSpiritAchievementId(), 1);
-        }
-
-        incrementAchievement(getCuriosityAchievementId(), 1);
-
+        achievementEngine.add(AchievementCounter.GAMES_PLAYED, 1);
     }
 
     public void addJumpCount(int count) {
-
-        if (count <= 0) {
-            return;
-        }
-
-        if (getAchievementCount(get500JumpStreetAchievementId()) > 500) {
-            return;
-        }
-
-        if (getAchievementCount(get500JumpStreetAchievementId()) <= 10) {
-            incrementAchievement(get10JumpStreetAchievementId(), count);
-        }
-
-        if (getAchievementCount(get500JumpStreetAchievementId()) <= 100) {
-            incrementAchievement(get100JumpStreetAchievementId(), count);
-        }
-
-        incrementAchievement(get500JumpStreetAchievementId(), count);
-
+        achievementEngine.add(AchievementCounter.JUMPS, count);
     }
 
-    public void setAchievementUnlocked(String id) {
-        getPreferences().putBoolean(getAchievementUnlockedId(id), true);
-    }
-
-    public void incrementAchievementCount(String id, int steps) {
-        Preferences preferences = getPreferences();
-        int count = preferences.getInteger(getAchievementCountId(id), 0);
-        count += steps;
-        preferences.putInteger(getAchievementCountId(id), count);
-        preferences.flush();
-    }
-
-    private int getAchievementCount(String id) {
-        return getPreferences().getInteger(getAchievementCountId(id), 0);
+    /**
+     * Sends the achievements of the run that just ended to the platform, once the run's counters
+     * have all been added
+     */
+    public void flushAchievements() {
+        achievementEngine.endRun();
+        achievementBatcher.flush();
     }
 
-    private boolean isAchievementUnlocked(String id) {
-        return getPreferences().getBoolean(getAchievementUnlockedId(id), false);
+    /**
+     * Sends the achievements that couldn't be sent yet, i.e. on sign in or before the game is
+     * paused
+     */
+    public void submitPendingAchievements() {
+        runInBackground(new Runnable() {
+            @Override
+            public void run() {
+                // Sign in can finish before the game is created, the next run sends them then
+                if (achievementBatcher != null) {
+                    achievementBatcher.flush();
+                }
+            }
+        });
     }
 
-    private String getAchievementCountId(String id) {
-        return id + ACHIEVEMENT_COUNT_PREFERENCE_SUFFIX;
+    public void setAchievementUnlocked(String id) {
+        playerStats.setAchievementUnlocked(id);
     }
 
-    private String getAchievementUnlockedId(String id) {
-        return id + ACHIEVEMENT_UNLOCKED_PREFERENCE_SUFFIX;
+    public void incrementAchievementCount(String id, int steps) {
+        playerStats.addAchievementCount(id, steps);
     }
 }
@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.stc.runner.enums.Difficulty;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.TimeZone;
+
+/**
+ * Every run the player finished on this device. Runs are appended to a file of fixed size records,
+ * so they're kept in the order they were played. Two memory mapped indexes sit next to it: one of
+ * every run sorted by score, and one with the best run of each day sorted by day. Ranks,
+ * percentiles and a day's best are binary searches, the top scores are the start of the score
+ * index. Adding a run shifts the index entries below it, which is a memory move per run.
+ * <p/>
+ * The record file is the source of truth. If the indexes don't cover every record, i.e. the game
+ * was killed between writing a run and indexing it, they are rebuilt when opened. Only used from
+ * the background executor
+ */
+public class LocalLeaderboard {
+
+    /**
+     * Where a run stands among all the runs played so far
+     */
+    public static class Summary {
+
+        public int score;
+        // 1 for the best run, runs with the same score share a rank
+        public int rank;
+        public int runCount;
+        // Share of the other runs this one beat, from 0 to 100
+        public int percentile;
+        public int todayBest;
+        // Best first
+        public int[] topScores;
+
+    }
+
+    // Seed, time, score, duration, jumps and difficulty, padded to a power of two
+    private static final int RECORD_SIZE = 32;
+    // Score and record number packed into a long
+    private static final int SCORE_ENTRY_SIZE = 8;
+    // Day, best score and its record number
+    private static final int DAY_ENTRY_SIZE = 12;
+    // Entry count
+    private static final int INDEX_HEADER_SIZE = 4;
+    private static final int INITIAL_CAPACITY = 256;
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000;
+
+    private final FileHandle recordsFile;
+    private final FileHandle scoreIndexFile;
+    private final FileHandle dayIndexFile;
+
+    private FileChannel records;
+    private FileChannel scoreIndexChannel;
+    private FileChannel dayIndexChannel;
+    private MappedByteBuffer scoreIndex;
+    private MappedByteBuffer dayIndex;
+    private int recordCount;
+
+    private final ByteBuffer recordBuffer = ByteBuffer.allocate(RECORD_SIZE);
+
+    public LocalLeaderboard(FileHandle recordsFile) {
+        this.recordsFile = recordsFile;
+        scoreIndexFile = recordsFile.sibling(recordsFile.nameWithoutExtension() + ".scores");
+        dayIndexFile = recordsFile.sibling(recordsFile.nameWithoutExtension() + ".days");
+    }
+
+    public void open() {
+        try {
+            records = new RandomAccessFile(recordsFile.file(), "rw").getChannel();
+            scoreIndexChannel = new RandomAccessFile(scoreIndexFile.file(), "rw").getChannel();
+            dayIndexChannel = new RandomAccessFile(dayIndexFile.file(), "rw").getChannel();
+
+            // Drops a record torn by a crash mid-write
+            recordCount = (int) (records.size() / RECORD_SIZE);
+            records.truncate((long) recordCount * RECORD_SIZE);
+
+            scoreIndex = map(scoreIndexChannel, SCORE_ENTRY_SIZE, recordCount);
+            dayIndex = map(dayIndexChannel, DAY_ENTRY_SIZE, recordCount);
+            if (getScoreCount() != recordCount) {
+                rebuildIndexes();
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't open " + recordsFile.path(), e);
+        }
+    }
+
+    /**
+     * Maps an index with room for at least the given number of entries
+     */
+    private MappedByteBuffer map(FileChannel channel, int entrySize, int entries)
+            throws IOException {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < entries + 1) {
+            capacity *= 2;
+        }
+        long size = Math.max(channel.size(), INDEX_HEADER_SIZE + (long) capacity * entrySize);
+        return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    private void rebuildIndexes() throws IOException {
+        Gdx.app.log(LocalLeaderboard.class.getSimpleName(), "Rebuilding the indexes of "
+                + recordCount + " runs");
+        scoreIndex.putInt(0, 0);
+        dayIndex.putInt(0, 0);
+        RunRecord run = new RunRecord();
+        for (int i = 0; i < recordCount; i++) {
+            readRecord(i, run);
+            index(run, i);
+        }
+    }
+
+    public void close() {
+        try {
+            records.close();
+            scoreIndexChannel.close();
+            dayIndexChannel.close();
+        } catch (IOException e) {
+            Gdx.app.error(LocalLeaderboard.class.getSimpleName(), "Couldn't close the leaderboard",
+                    e);
+        }
+    }
+
+    /**
+     * Stores a finished run
+     *
+     * @return where the run stands, with the given number of top scores
+     */
+    public Summary record(RunRecord run, int topCount) {
+        try {
+            int recordNumber = recordCount;
+            recordBuffer.clear();
+            recordBuffer.putLong(run.seed).putLong(run.finishedAt).putInt(run.score)
+                    .putInt(run.durationMillis).putInt(run.jumpCount)
+                    .put((byte) run.maxDifficulty.ordinal());
+            recordBuffer.position(RECORD_SIZE);
+            recordBuffer.flip();
+            records.write(recordBuffer, (long) recordNumber * RECORD_SIZE);
+            recordCount++;
+
+            index(run, recordNumber);
+        } catch (IOException e) {
+            Gdx.app.error(LocalLeaderboard.class.getSimpleName(), "Couldn't record the run", e);
+        }
+
+        Summary summary = new Summary();
+        summary.score = run.score;
+        summary.runCount = getScoreCount();
+        int firstLower = findFirstLowerScore(run.score);
+        summary.rank = findFirstLowerScore(run.score + 1) + 1;
+        summary.percentile = summary.runCount > 1
+                ? 100 * (summary.runCount - firstLower) / (summary.runCount - 1) : 100;
+        summary.todayBest = getBestScore(getDay(run.finishedAt));
+        summary.topScores = getTopScores(topCount);
+        return summary;
+    }
+
+    /**
+     * @return the best scores, best first
+     */
+    public int[] getTopScores(int count) {
+        int[] scores = new int[Math.min(count, getScoreCount())];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = getEntryScore(scoreIndex.getLong(scoreEntryPosition(i)));
+        }
+        return scores;
+    }
+
+    /**
+     * @param day days since the epoch, in the device's time zone
+     * @return the best score of the day, 0 if nothing was played that day
+     */
+    public int getBestScore(int day) {
+        int entry = findDay(day);
+        return entry < getDayCount() && dayIndex.getInt(dayEntryPosition(entry)) == day
+                ? dayIndex.getInt(dayEntryPosition(entry) + 4) : 0;
+    }
+
+    /**
+     * @return days since the epoch, in the device's time zone
+     */
+    public static int getDay(long millis) {
+        return (int) ((millis + TimeZone.getDefault().getOffset(millis)) / MILLIS_PER_DAY);
+    }
+
+    private void index(RunRecord run, int recordNumber) throws IOException {
+        indexScore(run.score, recordNumber);
+        indexDay(getDay(run.finishedAt), run.score, recordNumber);
+    }
+
+    private void indexScore(int score, int recordNumber) throws IOException {
+        int count = getScoreCount();
+        if (scoreEntryPosition(count + 1) > scoreIndex.capacity()) {
+            scoreIndex = map(scoreIndexChannel, SCORE_ENTRY_SIZE, count * 2);
+        }
+
+        // After the runs with the same score, so earlier runs keep their rank
+        int position = findFirstLowerScore(score);
+        for (int i = count; i > position; i--) {
+            scoreIndex.putLong(scoreEntryPosition(i), scoreIndex.getLong(scoreEntryPosition(i - 1)));
+        }
+        scoreIndex.putLong(scoreEntryPosition(position),
+                ((long) score << 32) | (recordNumber & 0xffffffffL));
+        scoreIndex.putInt(0, count + 1);
+    }
+
+    private void indexDay(int day, int score, int recordNumber) throws IOException {
+        int count = getDayCount();
+        int entry = findDay(day);
+        if (entry < count && dayIndex.getInt(dayEntryPosition(entry)) == day) {
+            if (score > dayIndex.getInt(dayEntryPosition(entry) + 4)) {
+                dayIndex.putInt(dayEntryPosition(entry) + 4, score);
+                dayIndex.putInt(dayEntryPosition(entry) + 8, recordNumber);
+            }
+            return;
+        }
+
+        if (dayEntryPosition(count + 1) > dayIndex.capacity()) {
+            dayIndex = map(dayIndexChannel, DAY_ENTRY_SIZE, count * 2);
+        }
+
+        // Days are almost always appended, unless the clock went back
+        for (int i = count; i > entry; i--) {
+            int from = dayEntryPosition(i - 1);
+            int to = dayEntryPosition(i);
+            dayIndex.putInt(to, dayIndex.getInt(from));
+            dayIndex.putInt(to + 4, dayIndex.getInt(from + 4));
+            dayIndex.putInt(to + 8, dayIndex.getInt(from + 8));
+        }
+        int position = dayEntryPosition(entry);
+        dayIndex.putInt(position, day);
+        dayIndex.putInt(position + 4, score);
+        dayIndex.putInt(position + 8, recordNumber);
+        dayIndex.putInt(0, count + 1);
+    }
+
+    /**
+     * @return the position of the first entry with a score lower than the given one, which is
+     * also the number of runs with the same score or higher
+     */
+    private int findFirstLowerScore(int score) {
+        int low = 0;
+        int high = getScoreCount();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (getEntryScore(scoreIndex.getLong(scoreEntryPosition(middle))) >= score) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the position of the given day, or where it would be inserted
+     */
+    private int findDay(int day) {
+        int low = 0;
+        int high = getDayCount();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (dayIndex.getInt(dayEntryPosition(middle)) < day) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void readRecord(int recordNumber, RunRecord run) throws IOException {
+        recordBuffer.clear();
+        records.read(recordBuffer, (long) recordNumber * RECORD_SIZE);
+        recordBuffer.flip();
+        run.seed = recordBuffer.getLong();
+        run.finishedAt = recordBuffer.getLong();
+        run.score = recordBuffer.getInt();
+        run.durationMillis = recordBuffer.getInt();
+        run.jumpCount = recordBuffer.getInt();
+        run.maxDifficulty = Difficulty.values()[recordBuffer.get()];
+    }
+
+    private int getScoreCount() {
+        return scoreIndex.getInt(0);
+    }
+
+    private int getDayCount() {
+        return dayIndex.getInt(0);
+    }
+
+    private static int scoreEntryPosition(int entry) {
+        return INDEX_HEADER_SIZE + entry * SCORE_ENTRY_SIZE;
+    }
+
+    private static int dayEntryPosition(int entry) {
+        return INDEX_HEADER_SIZE + entry * DAY_ENTRY_SIZE;
+    }
+
+    private static int getEntryScore(long entry) {
+        return (int) (entry >> 32);
+    }
+
+}
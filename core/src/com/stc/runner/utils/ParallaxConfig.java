@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.utils;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * The layers of the parallax background, read from {@link Constants#PARALLAX_CONFIG_PATH}. Layers
+ * are listed back to front
+ */
+public class ParallaxConfig {
+
+    public Layer[] layers;
+
+    public static class Layer {
+
+        // Region in the sprite atlas
+        public String region;
+        // Scrolling speed relative to the enemies, 1 moves with them and 0 stands still
+        public float speedFactor;
+        // Bottom of the layer, in pixels
+        public float y;
+        // Height in pixels, up to the top of the screen if not set
+        public float height;
+
+        // Resolved by AssetsManager when the config is loaded
+        public transient TextureRegion textureRegion;
+
+    }
+
+}
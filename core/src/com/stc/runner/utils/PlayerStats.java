@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * The player's achievement progress, kept in memory and saved to a small binary file. Changes
+ * only mark the stats as dirty, {@link #save()} writes them all at once. Saving goes through
+ * {@link FileUtils#replace(FileHandle, FileHandle)}, so a crash mid-write never leaves a half
+ * written file behind.
+ * <p/>
+ * Accessed from the render thread, the background executor and the platform's UI thread, so every
+ * method is synchronized. Achievement ids may be null on platforms without achievements, those are
+ * ignored
+ */
+public class PlayerStats {
+
+    private static final int MAGIC = 0x4d525354;
+    private static final int VERSION = 1;
+
+    private static final String MAX_SCORE_PREFERENCE = "max_score";
+    private static final String ACHIEVEMENT_COUNT_PREFERENCE_SUFFIX = "_count";
+    private static final String ACHIEVEMENT_UNLOCKED_PREFERENCE_SUFFIX = "_unlocked";
+
+    private static class Achievement {
+        int count;
+        boolean unlocked;
+    }
+
+    private final FileHandle file;
+    private final FileHandle tempFile;
+    private final ObjectMap<String, Achievement> achievements = new ObjectMap<String, Achievement>();
+    private int maxScore;
+    private boolean dirty;
+
+    public PlayerStats(FileHandle file) {
+        this.file = file;
+        tempFile = file.sibling(file.name() + ".tmp");
+    }
+
+    /**
+     * Reads the stats file, or the old per-achievement preferences if there's no file yet
+     *
+     * @param achievementIds the ids to look for in the preferences
+     */
+    public synchronized void load(String[] achievementIds) {
+        achievements.clear();
+        maxScore = 0;
+
+        FileUtils.recover(file, tempFile);
+        if (!file.exists()) {
+            migrateFromPreferences(achievementIds);
+            return;
+        }
+
+        DataInputStream input = new DataInputStream(file.read());
+        try {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                throw new IOException("Unknown format");
+            }
+            maxScore = input.readInt();
+            int count = input.readInt();
+            for (int i = 0; i < count; i++) {
+                Achievement achievement = new Achievement();
+                String id = input.readUTF();
+                achievement.count = input.readInt();
+                achievement.unlocked = input.readBoolean();
+                achievements.put(id, achievement);
+            }
+        } catch (IOException e) {
+            Gdx.app.error(PlayerStats.class.getSimpleName(), "Couldn't read " + file.path(), e);
+            achievements.clear();
+            maxScore = 0;
+        } finally {
+            close(input);
+        }
+    }
+
+    private void migrateFromPreferences(String[] achievementIds) {
+        Preferences preferences = Gdx.app.getPreferences(GameManager.PREFERENCES_NAME);
+        maxScore = preferences.getInteger(MAX_SCORE_PREFERENCE, 0);
+        for (String id : achievementIds) {
+            if (id == null) {
+                continue;
+            }
+            Achievement achievement = new Achievement();
+            achievement.count = preferences.getInteger(id + ACHIEVEMENT_COUNT_PREFERENCE_SUFFIX, 0);
+            achievement.unlocked = preferences.getBoolean(
+                    id + ACHIEVEMENT_UNLOCKED_PREFERENCE_SUFFIX, false);
+            achievements.put(id, achievement);
+        }
+        dirty = true;
+    }
+
+    public synchronized int getAchievementCount(String id) {
+        Achievement achievement = id == null ? null : achievements.get(id);
+        return achievement == null ? 0 : achievement.count;
+    }
+
+    public synchronized void addAchievementCount(String id, int steps) {
+        if (id != null) {
+            getOrCreate(id).count += steps;
+            dirty = true;
+        }
+    }
+
+    public synchronized boolean isAchievementUnlocked(String id) {
+        Achievement achievement = id == null ? null : achievements.get(id);
+        return achievement != null && achievement.unlocked;
+    }
+
+    public synchronized void setAchievementUnlocked(String id) {
+        if (id != null && !isAchievementUnlocked(id)) {
+            getOrCreate(id).unlocked = true;
+            dirty = true;
+        }
+    }
+
+    private Achievement getOrCreate(String id) {
+        Achievement achievement = achievements.get(id);
+        if (achievement == null) {
+            achievement = new Achievement();
+            achievements.put(id, achievement);
+        }
+        return achievement;
+    }
+
+    /**
+     * Only read to move the score kept by older versions into the {@link ScoreJournal}
+     *
+     * @return the best score that couldn't be submitted yet, 0 if there is none
+     */
+    public synchronized int getMaxScore() {
+        return maxScore;
+    }
+
+    public synchronized void setMaxScore(int maxScore) {
+        if (this.maxScore != maxScore) {
+            this.maxScore = maxScore;
+            dirty = true;
+        }
+    }
+
+    /**
+     * Writes the stats if anything changed since the last save. Does file I/O, so it belongs on
+     * the background executor
+     */
+    public void save() {
+        byte[] bytes;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            bytes = serialize();
+            dirty = false;
+        }
+
+        tempFile.writeBytes(bytes, false);
+        if (!FileUtils.replace(file, tempFile)) {
+            Gdx.app.error(PlayerStats.class.getSimpleName(), "Couldn't save " + file.path());
+            synchronized (this) {
+                dirty = true;
+            }
+        }
+    }
+
+    private byte[] serialize() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + achievements.size * 32);
+        DataOutputStream output = new DataOutputStream(bytes);
+        try {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(maxScore);
+            output.writeInt(achievements.size);
+            for (ObjectMap.Entry<String, Achievement> entry : achievements.entries()) {
+                output.writeUTF(entry.key);
+                output.writeInt(entry.value.count);
+                output.writeBoolean(entry.value.unlocked);
+            }
+        } catch (IOException e) {
+            // Can't happen when writing to memory
+            throw new GdxRuntimeException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void close(DataInputStream input) {
+        try {
+            input.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+}
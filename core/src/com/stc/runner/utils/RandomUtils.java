@@ -18,36 +18,23 @@ package com.stc.runner.utils;
 
 import com.stc.runner.enums.EnemyType;
 
-import java.util.Random;
-
 public class RandomUtils {
 
+    // Enum.values() clones its array on every call
+    private static final EnemyType[] ENEMY_TYPES = EnemyType.values();
+
     /**
-     * @return a random {@link com.stc.runner.enums.EnemyType}
+     * @return a random {@link com.stc.runner.enums.EnemyType} drawn from the given stream
      */
-    public static EnemyType getRandomEnemyType() {
-        RandomEnum<EnemyType> randomEnum = new RandomEnum<EnemyType>(EnemyType.class);
-        return randomEnum.random();
+    public static EnemyType getRandomEnemyType(GameRandom random) {
+        return ENEMY_TYPES[random.nextInt(ENEMY_TYPES.length)];
     }
 
     /**
-     * @see <a href="http://stackoverflow.com/a/1973018">Stack Overflow</a>
+     * @return a seed for a new run
      */
-    private static class RandomEnum<E extends Enum> {
-
-        private static final Random RND = new Random();
-        private final E[] values;
-
-        public RandomEnum(Class<E> token) {
-            values = token.getEnumConstants();
-        }
-
-        /**
-         * @return a random value for the given enum
-         */
-        public E random() {
-            return values[RND.nextInt(values.length)];
-        }
+    public static long createSeed() {
+        return System.nanoTime() ^ (System.currentTimeMillis() << 20);
     }
 
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.utils;
+
+import com.stc.runner.enums.Difficulty;
+
+/**
+ * A finished run, as kept by {@link LocalLeaderboard}
+ */
+public class RunRecord {
+
+    public long seed;
+    // When the run ended, in milliseconds since the epoch
+    public long finishedAt;
+    public int score;
+    public int durationMillis;
+    public int jumpCount;
+    // The last difficulty reached, difficulty only goes up during a run
+    public Difficulty maxDifficulty;
+
+    public RunRecord() {
+
+    }
+
+    public RunRecord(long seed, long finishedAt, int score, int durationMillis, int jumpCount,
+                     Difficulty maxDifficulty) {
+        this.seed = seed;
+        this.finishedAt = finishedAt;
+        this.score = score;
+        this.durationMillis = durationMillis;
+        this.jumpCount = jumpCount;
+        this.maxDifficulty = maxDifficulty;
+    }
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Every finished run's score, kept on disk until the platform accepts it. The journal is append
+ * only: a run's score is one record and its submission is another, each with its own CRC, so a
+ * crash can at worst tear the last record, which is dropped on the next load. Scores are submitted
+ * with their run id, and a score whose submission wasn't recorded is sent again with the same id,
+ * so submitting twice is harmless.
+ * <p/>
+ * Only used from the background executor, apart from {@link #load()}
+ */
+public class ScoreJournal {
+
+    private static final byte SCORE_RECORD = 1;
+    private static final byte SUBMITTED_RECORD = 2;
+    // Type, run id and score, followed by the CRC
+    private static final int RECORD_DATA_LENGTH = 1 + 8 + 4;
+    private static final int RECORD_LENGTH = RECORD_DATA_LENGTH + 4;
+
+    private static final int SUBMIT_BATCH_SIZE = 25;
+    // Rewritten with only the pending scores once it holds this many records
+    private static final int COMPACT_THRESHOLD = 256;
+
+    private final FileHandle file;
+    private final FileHandle tempFile;
+    private final LongArray pendingRunIds = new LongArray();
+    private final IntArray pendingScores = new IntArray();
+    private int recordCount;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(RECORD_LENGTH * SUBMIT_BATCH_SIZE);
+    private final CRC32 crc = new CRC32();
+
+    public ScoreJournal(FileHandle file) {
+        this.file = file;
+        tempFile = file.sibling(file.name() + ".tmp");
+    }
+
+    /**
+     * Replays the journal to find the scores that still have to be submitted
+     */
+    public void load() {
+        pendingRunIds.clear();
+        pendingScores.clear();
+        recordCount = 0;
+
+        FileUtils.recover(file, tempFile);
+        if (!file.exists()) {
+            return;
+        }
+
+        ByteBuffer records = ByteBuffer.wrap(file.readBytes());
+        boolean damaged = false;
+        while (records.remaining() >= RECORD_LENGTH) {
+            int start = records.position();
+            crc.reset();
+            crc.update(records.array(), start, RECORD_DATA_LENGTH);
+            byte type = records.get();
+            long runId = records.getLong();
+            int score = records.getInt();
+            if ((int) crc.getValue() != records.getInt()) {
+                Gdx.app.error(ScoreJournal.class.getSimpleName(), "Dropping " + file.path()
+                        + " from byte " + start + ", the record is damaged");
+                damaged = true;
+                break;
+            }
+
+            if (type == SCORE_RECORD && !pendingRunIds.contains(runId)) {
+                pendingRunIds.add(runId);
+                pendingScores.add(score);
+            } else if (type == SUBMITTED_RECORD) {
+                removePending(runId);
+            }
+            recordCount++;
+        }
+
+        // Also drops a torn record at the end, so later appends start on a record boundary
+        if (damaged || records.hasRemaining() || recordCount >= COMPACT_THRESHOLD) {
+            compact();
+        }
+    }
+
+    public void append(long runId, int score) {
+        buffer.clear();
+        putRecord(SCORE_RECORD, runId, score);
+        write();
+        pendingRunIds.add(runId);
+        pendingScores.add(score);
+    }
+
+    public int getPendingCount() {
+        return pendingRunIds.size;
+    }
+
+    /**
+     * Submits the pending scores, oldest first, in batches whose submissions are recorded with a
+     * single write. Stops at the first score the listener doesn't take, i.e. when signed out
+     */
+    public void submitPending(GameEventListener listener) {
+        while (pendingRunIds.size > 0) {
+            buffer.clear();
+            int submitted = 0;
+            while (submitted < SUBMIT_BATCH_SIZE && submitted < pendingRunIds.size) {
+                long runId = pendingRunIds.get(submitted);
+                if (!listener.submitScore(runId, pendingScores.get(submitted))) {
+                    break;
+                }
+                putRecord(SUBMITTED_RECORD, runId, pendingScores.get(submitted));
+                submitted++;
+            }
+
+            if (submitted > 0) {
+                write();
+                for (int i = 0; i < submitted; i++) {
+                    pendingRunIds.removeIndex(0);
+                    pendingScores.removeIndex(0);
+                }
+            }
+
+            if (submitted < SUBMIT_BATCH_SIZE) {
+                break;
+            }
+        }
+
+        if (recordCount >= COMPACT_THRESHOLD) {
+            compact();
+        }
+    }
+
+    private void removePending(long runId) {
+        int index = pendingRunIds.indexOf(runId);
+        if (index != -1) {
+            pendingRunIds.removeIndex(index);
+            pendingScores.removeIndex(index);
+        }
+    }
+
+    private void putRecord(byte type, long runId, int score) {
+        int start = buffer.position();
+        buffer.put(type).putLong(runId).putInt(score);
+        crc.reset();
+        crc.update(buffer.array(), start, RECORD_DATA_LENGTH);
+        buffer.putInt((int) crc.getValue());
+        recordCount++;
+    }
+
+    private void write() {
+        file.writeBytes(buffer.array(), 0, buffer.position(), true);
+    }
+
+    /**
+     * Rewrites the journal with only the pending scores, through
+     * {@link FileUtils#replace(FileHandle, FileHandle)} so the journal is never left half written
+     */
+    private void compact() {
+        ByteBuffer records = ByteBuffer.allocate(RECORD_LENGTH * pendingRunIds.size);
+        for (int i = 0; i < pendingRunIds.size; i++) {
+            int start = records.position();
+            records.put(SCORE_RECORD).putLong(pendingRunIds.get(i)).putInt(pendingScores.get(i));
+            crc.reset();
+            crc.update(records.array(), start, RECORD_DATA_LENGTH);
+            records.putInt((int) crc.getValue());
+        }
+
+        tempFile.writeBytes(records.array(), false);
+        if (FileUtils.replace(file, tempFile)) {
+            recordCount = pendingRunIds.size;
+        } else {
+            Gdx.app.error(ScoreJournal.class.getSimpleName(), "Couldn't compact " + file.path());
+        }
+    }
+
+}
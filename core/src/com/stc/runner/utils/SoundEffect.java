@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.utils;
+
+import com.badlogic.gdx.audio.Sound;
+
+import java.util.Arrays;
+
+/**
+ * A sound that can only overlap itself so many times. Playing it when all its voices are taken
+ * cuts off the oldest one, so mashing jump doesn't pile up instances in the mixer
+ */
+public class SoundEffect {
+
+    private static final long NO_VOICE = -1;
+
+    private final Sound sound;
+    private final long[] voices;
+    private int nextVoice;
+
+    public SoundEffect(Sound sound, int maxVoices) {
+        this.sound = sound;
+        voices = new long[maxVoices];
+        Arrays.fill(voices, NO_VOICE);
+    }
+
+    /**
+     * Plays the sound once, silently, so the platform has it decoded and ready before the first
+     * time it's actually heard
+     */
+    public void prewarm() {
+        sound.stop(sound.play(0f));
+    }
+
+    public void play(float volume) {
+        if (voices[nextVoice] != NO_VOICE) {
+            sound.stop(voices[nextVoice]);
+        }
+        voices[nextVoice] = sound.play(volume);
+        nextVoice = (nextVoice + 1) % voices.length;
+    }
+
+}
@@ -19,12 +19,15 @@ package com.stc.runner.utils;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
 import com.badlogic.gdx.physics.box2d.PolygonShape;
 import com.badlogic.gdx.physics.box2d.World;
+import com.stc.runner.box2d.BodyRegistry;
 import com.stc.runner.box2d.EnemyUserData;
 import com.stc.runner.box2d.GroundUserData;
 import com.stc.runner.box2d.RunnerUserData;
 import com.stc.runner.enums.EnemyType;
+import com.stc.runner.enums.UserDataType;
 
 public class WorldUtils {
 
@@ -32,19 +35,22 @@ public class WorldUtils {
         return new World(Constants.WORLD_GRAVITY, true);
     }
 
-    public static Body createGround(World world) {
+    public static Body createGround(World world, BodyRegistry registry) {
         BodyDef bodyDef = new BodyDef();
         bodyDef.position.set(new Vector2(Constants.GROUND_X, Constants.GROUND_Y));
         Body body = world.createBody(bodyDef);
         PolygonShape shape = new PolygonShape();
         shape.setAsBox(Constants.GROUND_WIDTH / 2, Constants.GROUND_HEIGHT / 2);
-        body.createFixture(shape, Constants.GROUND_DENSITY);
-        body.setUserData(new GroundUserData(Constants.GROUND_WIDTH, Constants.GROUND_HEIGHT));
+        createFixture(body, shape, Constants.GROUND_DENSITY, UserDataType.GROUND);
+        GroundUserData userData = new GroundUserData(Constants.GROUND_WIDTH, Constants.GROUND_HEIGHT);
+        userData.resetTransform(body);
+        body.setUserData(userData);
         shape.dispose();
+        registry.register(body);
         return body;
     }
 
-    public static Body createRunner(World world) {
+    public static Body createRunner(World world, BodyRegistry registry) {
         BodyDef bodyDef = new BodyDef();
         bodyDef.type = BodyDef.BodyType.DynamicBody;
         bodyDef.position.set(new Vector2(Constants.RUNNER_X, Constants.RUNNER_Y));
@@ -52,28 +58,71 @@ public class WorldUtils {
         shape.setAsBox(Constants.RUNNER_WIDTH / 2, Constants.RUNNER_HEIGHT / 2);
         Body body = world.createBody(bodyDef);
         body.setGravityScale(Constants.RUNNER_GRAVITY_SCALE);
-        body.createFixture(shape, Constants.RUNNER_DENSITY);
+        createFixture(body, shape, Constants.RUNNER_DENSITY, UserDataType.RUNNER);
         body.resetMassData();
-        body.setUserData(new RunnerUserData(Constants.RUNNER_WIDTH, Constants.RUNNER_HEIGHT));
+        RunnerUserData userData = new RunnerUserData(Constants.RUNNER_WIDTH, Constants.RUNNER_HEIGHT);
+        userData.resetTransform(body);
+        body.setUserData(userData);
         shape.dispose();
+        registry.register(body);
         return body;
     }
 
-    public static Body createEnemy(World world) {
-        EnemyType enemyType = RandomUtils.getRandomEnemyType();
+    public static Body createEnemy(World world, BodyRegistry registry, EnemyType enemyType) {
         BodyDef bodyDef = new BodyDef();
         bodyDef.type = BodyDef.BodyType.KinematicBody;
         bodyDef.position.set(new Vector2(enemyType.getX(), enemyType.getY()));
         PolygonShape shape = new PolygonShape();
         shape.setAsBox(enemyType.getWidth() / 2, enemyType.getHeight() / 2);
         Body body = world.createBody(bodyDef);
-        body.createFixture(shape, enemyType.getDensity());
+        createFixture(body, shape, enemyType.getDensity(), UserDataType.ENEMY);
         body.resetMassData();
-        EnemyUserData userData = new EnemyUserData(enemyType.getWidth(), enemyType.getHeight(),
-                enemyType.getAnimationAssetId());
+        EnemyUserData userData = new EnemyUserData(enemyType);
+        userData.resetTransform(body);
         body.setUserData(userData);
         shape.dispose();
+        registry.register(body);
         return body;
     }
 
+    /**
+     * Brings back an enemy previously put away with {@link #deactivateEnemy}, moving it to the
+     * spawn position of its {@link com.stc.runner.enums.EnemyType}
+     */
+    public static void respawnEnemy(BodyRegistry registry, Body body) {
+        EnemyUserData userData = (EnemyUserData) body.getUserData();
+        EnemyType enemyType = userData.getEnemyType();
+        body.setTransform(enemyType.getX(), enemyType.getY(), 0f);
+        body.setActive(true);
+        userData.resetTransform(body);
+        registry.register(body);
+    }
+
+    /**
+     * Takes an enemy out of the simulation without destroying it so it can be respawned later
+     */
+    public static void deactivateEnemy(BodyRegistry registry, Body body) {
+        registry.unregister(body);
+        body.setActive(false);
+    }
+
+    /**
+     * Creates the body's fixture with the category and mask bits of its {@link UserDataType}, so
+     * Box2D discards pairs that can't collide before they ever reach the contact listener
+     */
+    private static void createFixture(Body body, PolygonShape shape, float density,
+                                      UserDataType userDataType) {
+        FixtureDef fixtureDef = new FixtureDef();
+        fixtureDef.shape = shape;
+        fixtureDef.density = density;
+        fixtureDef.filter.categoryBits = userDataType.getCategoryBits();
+        fixtureDef.filter.maskBits = userDataType.getMaskBits();
+        body.createFixture(fixtureDef);
+    }
+
+    public static void destroyBody(World world, BodyRegistry registry, Body body) {
+        registry.unregister(body);
+        world.destroyBody(body);
+    }
+
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.desktop;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.stc.runner.utils.GameManager;
+
+/**
+ * Stands in for the online achievements on desktop. Every call is recorded and logged, so the
+ * number of calls made across the platform bridge can be checked. Achievement keys are used as
+ * IDs
+ */
+public class DesktopAchievements {
+
+    private final ObjectIntMap<String> steps = new ObjectIntMap<String>();
+    private int unlockCalls;
+    private int incrementCalls;
+
+    public String getAchievementId(String key) {
+        return key;
+    }
+
+    public synchronized boolean unlock(String id) {
+        unlockCalls++;
+        GameManager.getInstance().setAchievementUnlocked(id);
+        Gdx.app.log(DesktopAchievements.class.getSimpleName(), "Unlocked " + id + ", "
+                + getCallCount() + " calls so far");
+        return true;
+    }
+
+    public synchronized boolean increment(String id, int steps) {
+        incrementCalls++;
+        this.steps.getAndIncrement(id, 0, steps);
+        GameManager.getInstance().incrementAchievementCount(id, steps);
+        Gdx.app.log(DesktopAchievements.class.getSimpleName(), "Incremented " + id + " by "
+                + steps + ", " + getCallCount() + " calls so far");
+        return true;
+    }
+
+    public synchronized int getCallCount() {
+        return unlockCalls + incrementCalls;
+    }
+
+    /**
+     * Logs the calls made so far and the steps each achievement got
+     */
+    public synchronized void display() {
+        Gdx.app.log(DesktopAchievements.class.getSimpleName(), unlockCalls + " unlock calls, "
+                + incrementCalls + " increment calls");
+        for (String id : steps.keys()) {
+            Gdx.app.log(DesktopAchievements.class.getSimpleName(), id + ": " + steps.get(id, 0)
+                    + " steps");
+        }
+    }
+
+}
@@ -22,12 +22,37 @@ import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
 import com.stc.runner.MartianRun;
 import com.stc.runner.utils.Constants;
 import com.stc.runner.utils.GameEventListener;
+import com.stc.runner.utils.GameManager;
+
+import java.io.File;
 
 public class DesktopLauncher {
 	public static void main (String[] arg) {
+        if (arg.length == 2 && "--replay".equals(arg[0])) {
+            System.exit(ReplayVerifier.verify(new File(arg[1])) ? 0 : 1);
+        }
+
+        if (arg.length == 1 && "--soak-restarts".equals(arg[0])) {
+            System.exit(RestartSoak.run() ? 0 : 1);
+        }
+
+        if (arg.length == 1 && "--check-frame-allocations".equals(arg[0])) {
+            System.exit(FrameAllocationCheck.run() ? 0 : 1);
+        }
+
+        for (String argument : arg) {
+            if ("--debug-overlay".equals(argument)) {
+                GameManager.getInstance().setDebugOverlayEnabled(true);
+            } else if ("--trace-frames".equals(argument)) {
+                GameManager.getInstance().setFrameTraceEnabled(true);
+            }
+        }
+
 		LwjglApplicationConfiguration config = new LwjglApplicationConfiguration();
         config.width = Constants.APP_WIDTH;
         config.height = Constants.APP_HEIGHT;
+        final DesktopLeaderboard leaderboard = new DesktopLeaderboard();
+        final DesktopAchievements achievements = new DesktopAchievements();
 		new LwjglApplication(new MartianRun(new GameEventListener() {
             @Override
             public void displayAd() {
@@ -40,18 +65,18 @@ public class DesktopLauncher {
             }
 
             @Override
-            public void submitScore(int score) {
-                Gdx.app.log(GameEventListener.class.getSimpleName(), "submitScore");
+            public boolean submitScore(long runId, int score) {
+                return leaderboard.submitScore(runId, score);
             }
 
             @Override
             public void displayLeaderboard() {
-                Gdx.app.log(GameEventListener.class.getSimpleName(), "displayLeaderboard");
+                leaderboard.display();
             }
 
             @Override
             public void displayAchievements() {
-                Gdx.app.log(GameEventListener.class.getSimpleName(), "displayAchievements");
+                achievements.display();
             }
 
             @Override
@@ -60,68 +85,18 @@ public class DesktopLauncher {
             }
 
             @Override
-            public void unlockAchievement(String id) {
-
-            }
-
-            @Override
-            public void incrementAchievement(String id, int steps) {
-
-            }
-
-            @Override
-            public String getGettingStartedAchievementId() {
-                return null;
-            }
-
-            @Override
-            public String getLikeARoverAchievementId() {
-                return null;
-            }
-
-            @Override
-            public String getSpiritAchievementId() {
-                return null;
-            }
-
-            @Override
-            public String getCuriosityAchievementId() {
-                return null;
-            }
-
-            @Override
-            public String get5kClubAchievementId() {
-                return null;
-            }
-
-            @Override
-            public String get10kClubAchievementId() {
-                return null;
-            }
-
-            @Override
-            public String get25kClubAchievementId() {
-                return null;
-            }
-
-            @Override
-            public String get50kClubAchievementId() {
-                return null;
-            }
-
-            @Override
-            public String get10JumpStreetAchievementId() {
-                return null;
+            public boolean unlockAchievement(String id) {
+                return achievements.unlock(id);
             }
 
             @Override
-            public String get100JumpStreetAchievementId() {
-                return null;
+            public boolean incrementAchievement(String id, int steps) {
+                return achievements.increment(id, steps);
             }
 
             @Override
-            public String get500JumpStreetAchievementId() {
-                return null;
+            public String getAchievementId(String key) {
+                return achievements.getAchievementId(key);
             }
 
         }), config);
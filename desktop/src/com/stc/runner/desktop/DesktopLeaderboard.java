@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.desktop;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongArray;
+
+import java.util.Collections;
+
+/**
+ * Stands in for the online leaderboard on desktop, so score submission can be tried without
+ * signing in anywhere. Scores are appended to a local text file, one run per line, and a run
+ * submitted again is ignored the way the online leaderboard would
+ */
+public class DesktopLeaderboard {
+
+    private static final String LEADERBOARD_PATH = "desktop_leaderboard.txt";
+    private static final int TOP_SCORES = 10;
+
+    // Resolved on first use, the backend isn't up yet when this is created
+    private FileHandle file;
+    private final LongArray runIds = new LongArray();
+    private final Array<Integer> scores = new Array<Integer>();
+    private boolean loaded;
+
+    public synchronized boolean submitScore(long runId, int score) {
+        load();
+        if (runIds.contains(runId)) {
+            Gdx.app.log(DesktopLeaderboard.class.getSimpleName(), "Ignoring repeated run "
+                    + runId);
+            return true;
+        }
+
+        runIds.add(runId);
+        scores.add(score);
+        file.writeString(runId + " " + score + "\n", true);
+        Gdx.app.log(DesktopLeaderboard.class.getSimpleName(), "Submitted " + score);
+        return true;
+    }
+
+    /**
+     * Logs the best scores
+     */
+    public synchronized void display() {
+        load();
+        Array<Integer> sorted = new Array<Integer>(scores);
+        sorted.sort(Collections.<Integer>reverseOrder());
+        for (int i = 0; i < Math.min(TOP_SCORES, sorted.size); i++) {
+            Gdx.app.log(DesktopLeaderboard.class.getSimpleName(), (i + 1) + ". " + sorted.get(i));
+        }
+    }
+
+    private void load() {
+        if (file == null) {
+            file = Gdx.files.local(LEADERBOARD_PATH);
+        }
+        if (loaded || !file.exists()) {
+            loaded = true;
+            return;
+        }
+
+        for (String line : file.readString().split("\n")) {
+            String[] fields = line.trim().split(" ");
+            if (fields.length == 2) {
+                runIds.add(Long.parseLong(fields[0]));
+                scores.add(Integer.parseInt(fields[1]));
+            }
+        }
+        loaded = true;
+    }
+
+}
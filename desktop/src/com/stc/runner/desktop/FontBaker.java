@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.desktop;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.tools.bmfont.BitmapFontWriter;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.badlogic.gdx.utils.SharedLibraryLoader;
+import com.stc.runner.utils.Constants;
+import com.stc.runner.utils.FontManifest;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Rasterises the TTF at every size in {@link Constants#FONT_SIZES} into .fnt files and page
+ * images, and writes the manifest the game checks them against. The stage is a fixed size
+ * stretched to the screen, so one bake per size works for every display density. Run with
+ * gradlew desktop:bakeFonts whenever the TTF or the sizes change
+ */
+public class FontBaker {
+
+    private static final int PAGE_SIZE = 512;
+
+    public static void main(String[] arg) {
+        File assetsDir = new File(arg.length > 0 ? arg[0] : ".");
+        GdxNativesLoader.load();
+        new SharedLibraryLoader().load("gdx-freetype");
+
+        FileHandle ttfFile = new FileHandle(new File(assetsDir, Constants.FONT_NAME));
+        byte[] ttf = ttfFile.readBytes();
+        FreeTypeFontGenerator generator = new FreeTypeFontGenerator(ttfFile);
+        BitmapFontWriter.setOutputFormat(BitmapFontWriter.OutputFormat.Text);
+
+        FontManifest manifest = new FontManifest();
+        manifest.fonts = new FontManifest.Entry[Constants.FONT_SIZES.length];
+        for (int i = 0; i < Constants.FONT_SIZES.length; i++) {
+            int size = Constants.FONT_SIZES[i];
+            String path = FontManifest.getFontPath(size);
+            bake(generator, size, new FileHandle(new File(assetsDir, path)));
+
+            FontManifest.Entry entry = new FontManifest.Entry();
+            entry.size = size;
+            entry.file = path;
+            entry.checksum = FontManifest.computeChecksum(ttf, size);
+            manifest.fonts[i] = entry;
+            System.out.println("Baked " + path);
+        }
+        generator.dispose();
+
+        Json json = new Json();
+        json.setOutputType(JsonWriter.OutputType.minimal);
+        new FileHandle(new File(assetsDir, Constants.FONT_MANIFEST_PATH))
+                .writeString(json.prettyPrint(manifest), false);
+    }
+
+    private static void bake(FreeTypeFontGenerator generator, int size, FileHandle fontFile) {
+        // With our own packer the generator leaves the pages as pixmaps, so no GL context is needed
+        PixmapPacker packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888, 2,
+                false);
+        FreeTypeFontGenerator.FreeTypeFontParameter parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
+        parameter.size = size;
+        parameter.packer = packer;
+        FreeTypeFontGenerator.FreeTypeBitmapFontData data = generator.generateData(parameter);
+
+        Array<PixmapPacker.Page> pages = packer.getPages();
+        Pixmap[] pixmaps = new Pixmap[pages.size];
+        for (int i = 0; i < pages.size; i++) {
+            pixmaps[i] = pages.get(i).getPixmap();
+        }
+
+        String name = fontFile.nameWithoutExtension();
+        String[] pageRefs = writePages(pixmaps, fontFile.parent(), name);
+        BitmapFontWriter.writeFont(data, pageRefs, fontFile,
+                new BitmapFontWriter.FontInfo(name, size), PAGE_SIZE, PAGE_SIZE);
+        packer.dispose();
+    }
+
+    /**
+     * Names the pages the way BitmapFontWriter.writePixmaps does, but compresses them. Its PNG
+     * writer stores the pixels uncompressed, a megabyte per page
+     */
+    private static String[] writePages(Pixmap[] pixmaps, FileHandle dir, String name) {
+        String[] pageRefs = new String[pixmaps.length];
+        dir.mkdirs();
+        for (int i = 0; i < pixmaps.length; i++) {
+            pageRefs[i] = name + (pixmaps.length > 1 ? "_" + i : "") + ".png";
+            Pixmap pixmap = pixmaps[i];
+            BufferedImage image = new BufferedImage(pixmap.getWidth(), pixmap.getHeight(),
+                    BufferedImage.TYPE_INT_ARGB);
+            for (int y = 0; y < pixmap.getHeight(); y++) {
+                for (int x = 0; x < pixmap.getWidth(); x++) {
+                    int rgba = pixmap.getPixel(x, y);
+                    image.setRGB(x, y, (rgba >>> 8) | (rgba << 24));
+                }
+            }
+            try {
+                ImageIO.write(image, "png", dir.child(pageRefs[i]).file());
+            } catch (IOException e) {
+                throw new GdxRuntimeException("Couldn't write " + pageRefs[i], e);
+            }
+        }
+        return pageRefs;
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.desktop;
+
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.stc.runner.simulation.GameSimulation;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Plays frames of the simulation the way the stage does and checks that, once pools are filled,
+ * a running frame allocates nothing. Starting and ending runs isn't measured. Runs headlessly.
+ * <p/>
+ * Meant to run with -XX:TieredStopAtLevel=1, as desktop:checkFrameAllocations does. The C2
+ * compiler now and then allocates a few hundred bytes in a frame while it compiles, and its
+ * escape analysis could hide allocations the code does make
+ */
+public class FrameAllocationCheck {
+
+    private static final float FRAME_TIME = 1 / 60f;
+    // Fills the enemy pools and lets the JIT settle
+    private static final int WARM_UP_RUNS = 200;
+    private static final int FRAMES = 10000;
+    // A run with no input ends on the first enemy, this only guards against a run that never ends
+    private static final int MAX_FRAMES_PER_RUN = 60 * 60 * 10;
+
+    /**
+     * @return true if no measured frame allocated
+     */
+    public static boolean run() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            System.out.println("This JVM can't measure allocations per thread");
+            return false;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long thread = Thread.currentThread().getId();
+
+        GdxNativesLoader.load();
+        GameSimulation simulation = new GameSimulation(new GameSimulation.SimulationAdapter());
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            simulation.startRun(i);
+            for (int frame = 0; frame < MAX_FRAMES_PER_RUN && simulation.isRunning(); frame++) {
+                simulation.update(FRAME_TIME);
+            }
+            simulation.reset();
+        }
+
+        // Reading the counter may cost something itself, that isn't the frame's
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            long before = threads.getThreadAllocatedBytes(thread);
+            overhead = Math.min(overhead, threads.getThreadAllocatedBytes(thread) - before);
+        }
+
+        int frames = 0;
+        int allocatingFrames = 0;
+        long allocated = 0;
+        long worstFrame = 0;
+        for (int run = WARM_UP_RUNS; frames < FRAMES; run++) {
+            simulation.startRun(run);
+            for (int frame = 0; frame < MAX_FRAMES_PER_RUN && frames < FRAMES; frame++) {
+                long before = threads.getThreadAllocatedBytes(thread);
+                simulation.update(FRAME_TIME);
+                long bytes = threads.getThreadAllocatedBytes(thread) - before - overhead;
+                // The frame that ends the run isn't steady state
+                if (!simulation.isRunning()) {
+                    break;
+                }
+                frames++;
+                if (bytes > 0) {
+                    allocatingFrames++;
+                    allocated += bytes;
+                    worstFrame = Math.max(worstFrame, bytes);
+                }
+            }
+            simulation.reset();
+        }
+        simulation.dispose();
+
+        System.out.println(String.format("%d frames: %d allocated, %d bytes in total, %d at most",
+                frames, allocatingFrames, allocated, worstFrame));
+
+        return allocatingFrames == 0;
+    }
+
+}
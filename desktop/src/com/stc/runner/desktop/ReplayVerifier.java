@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.desktop;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.stc.runner.simulation.GameSimulation;
+import com.stc.runner.simulation.InputLog;
+import com.stc.runner.simulation.ReplayDriver;
+
+import java.io.File;
+
+/**
+ * Replays a recorded run headlessly at full speed and checks it ends the way it was recorded.
+ * No window, GL context or audio is created
+ */
+public class ReplayVerifier {
+
+    /**
+     * @return whether the replay ended on the recorded tick with the recorded score
+     */
+    public static boolean verify(File replayFile) {
+        GdxNativesLoader.load();
+
+        InputLog log = InputLog.read(new FileHandle(replayFile).readBytes());
+        GameSimulation simulation = new GameSimulation();
+        ReplayDriver driver = new ReplayDriver(simulation, log);
+
+        long start = System.nanoTime();
+        driver.start();
+        driver.fastForward();
+        long elapsedMillis = (System.nanoTime() - start) / 1000000;
+
+        boolean matches = driver.matchesRecording();
+        System.out.println(String.format("%s: seed %d, %d inputs, recorded tick %d score %d, " +
+                        "replayed tick %d score %d in %d ms -> %s", replayFile.getName(), log.getSeed(),
+                log.size(), log.getFinalTick(), log.getFinalScore(), simulation.getTick(),
+                simulation.getScore(), elapsedMillis, matches ? "OK" : "MISMATCH"));
+
+        simulation.dispose();
+        return matches;
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2014. William Mora
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.stc.runner.desktop;
+
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+import com.stc.runner.simulation.GameSimulation;
+
+/**
+ * Starts and ends runs on one simulation over and over, the way the stage reuses its world, and
+ * checks that neither the world nor the heap grows between runs. Runs headlessly
+ */
+public class RestartSoak {
+
+    private static final int WARM_UP_RUNS = 50;
+    private static final int RUNS = 1000;
+    // A run with no input ends on the first enemy, this only guards against a run that never ends
+    private static final int MAX_STEPS_PER_RUN = 60 * 60 * 10;
+    private static final long MAX_HEAP_GROWTH = 1024 * 1024;
+
+    /**
+     * @return true if the world and the heap stayed flat
+     */
+    public static boolean run() {
+        GdxNativesLoader.load();
+
+        GameSimulation simulation = new GameSimulation(new GameSimulation.SimulationAdapter());
+        World world = simulation.getWorld();
+
+        play(simulation, 0, WARM_UP_RUNS);
+        int bodyCount = world.getBodyCount();
+        int contactCount = world.getContactCount();
+        long heap = usedHeap();
+
+        play(simulation, WARM_UP_RUNS, WARM_UP_RUNS + RUNS);
+        int finalBodyCount = world.getBodyCount();
+        int finalContactCount = world.getContactCount();
+        long finalHeap = usedHeap();
+        simulation.dispose();
+
+        System.out.println(String.format(
+                "%d runs: bodies %d -> %d, contacts %d -> %d, heap %d KB -> %d KB", RUNS,
+                bodyCount, finalBodyCount, contactCount, finalContactCount, heap / 1024,
+                finalHeap / 1024));
+
+        return finalBodyCount <= bodyCount && finalContactCount <= contactCount
+                && finalHeap - heap <= MAX_HEAP_GROWTH;
+    }
+
+    private static void play(GameSimulation simulation, int firstRun, int endRun) {
+        for (int i = firstRun; i < endRun; i++) {
+            simulation.startRun(i);
+            for (int step = 0; step < MAX_STEPS_PER_RUN && simulation.isRunning(); step++) {
+                simulation.step();
+            }
+            simulation.reset();
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}